@@ -9,6 +9,7 @@ import gregtech.api.items.gui.PlayerInventoryUIFactory;
 import gregtech.api.metatileentity.MetaTileEntityUIFactory;
 import gregtech.api.model.ResourcePackHook;
 import gregtech.api.net.NetworkHandler;
+import gregtech.api.recipes.IngredientMatcher;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.unification.material.Materials;
@@ -149,6 +150,8 @@ public class GregTechMod {
     @Mod.EventHandler
     public void onPostInit(FMLPostInitializationEvent event) {
         proxy.onPostLoad();
+        //ore dictionary entries could have been removed by scripts or other mods, which fires no events
+        IngredientMatcher.recompileAll();
     }
 
     @Mod.EventHandler
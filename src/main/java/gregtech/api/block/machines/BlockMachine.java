@@ -51,7 +51,6 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -136,10 +135,7 @@ public class BlockMachine extends Block implements ITileEntityProvider {
         MetaTileEntity metaTileEntity = getMetaTileEntity(blockAccess, pos);
         if(metaTileEntity == null)
             return EMPTY_COLLISION_BOX;
-        ArrayList<IndexedCuboid6> collisionList = new ArrayList<>();
-        metaTileEntity.addCollisionBoundingBox(collisionList);
-        metaTileEntity.addCoverCollisionBoundingBox(collisionList);
-        return collisionList;
+        return metaTileEntity.getCollisionBoxes();
     }
 
     @Override
@@ -313,6 +309,27 @@ public class BlockMachine extends Block implements ITileEntityProvider {
         return metaTileEntity == null ? 0 : metaTileEntity.getCachedComparatorValue();
     }
 
+    @Override
+    public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos) {
+        TileEntity holder = worldIn.getTileEntity(pos);
+        if(holder instanceof MetaTileEntityHolder) {
+            //content changes reported by onNeighborChange never change neighbour capabilities
+            ((MetaTileEntityHolder) holder).getNeighborCache().invalidate(pos, fromPos);
+        }
+        MetaTileEntity metaTileEntity = getMetaTileEntity(worldIn, pos);
+        if(metaTileEntity != null) {
+            metaTileEntity.onNeighborChanged();
+        }
+    }
+
+    @Override
+    public void onNeighborChange(IBlockAccess world, BlockPos pos, BlockPos neighbor) {
+        MetaTileEntity metaTileEntity = getMetaTileEntity(world, pos);
+        if(metaTileEntity != null) {
+            metaTileEntity.onNeighborChanged();
+        }
+    }
+
     protected ThreadLocal<MetaTileEntity> tileEntities = new ThreadLocal<>();
 
     @Override
@@ -1,7 +1,5 @@
 package gregtech.api.capability.impl;
 
-import gnu.trove.list.TIntList;
-import gnu.trove.list.array.TIntArrayList;
 import gregtech.api.GTValues;
 import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.capability.IElectricItem;
@@ -10,7 +8,6 @@ import gregtech.api.metatileentity.MTETrait;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.common.ConfigHolder;
 import net.minecraft.item.ItemStack;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.capabilities.Capability;
@@ -18,16 +15,38 @@ import net.minecraftforge.items.IItemHandlerModifiable;
 
 import javax.annotation.Nullable;
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.ToLongFunction;
 
-import static gregtech.api.util.GTUtility.*;
+import static gregtech.api.util.GTUtility.getTierByVoltage;
+import static gregtech.api.util.GTUtility.sum;
 
+/**
+ * Energy container backed by batteries in meta tile entity import inventory
+ * Stored energy, capacity and batteries ready to output energy are cached per slot, and totals are
+ * recomputed only for slots which stack was replaced since last check, or which battery was charged
+ * or discharged by this container, so owner inventory doesn't need to report changes
+ */
 public class EnergyContainerBatteryBuffer extends MTETrait implements IEnergyContainer.IEnergyContainerOverflowSafe {
 
     private final int tier;
 
+    private IElectricItem[] batteries = new IElectricItem[0];
+    private long[] batteryEnergyStored = new long[0];
+    private long[] batteryEnergyCapacity = new long[0];
+    private boolean[] batteryReady = new boolean[0];
+    private boolean[] changedSlots = new boolean[0];
+    //stacks seen in slots on last check, compared by reference to detect replaced stacks
+    private ItemStack[] lastStacks = new ItemStack[0];
+    private boolean hasChangedSlots = true;
+
+    //slots of batteries able to output full amp of output voltage, in slot order
+    private int[] readySlots = new int[0];
+    private int readySlotsCount;
+    private int batteryCount;
+    private long energyStored;
+    private long energyCapacity;
+    //true if totals don't fit into long and actual values should be computed as big integers
+    private boolean totalsOverflow;
+
     public EnergyContainerBatteryBuffer(MetaTileEntity metaTileEntity, int tier) {
         super(metaTileEntity);
         this.tier = tier;
@@ -47,15 +66,16 @@ public class EnergyContainerBatteryBuffer extends MTETrait implements IEnergyCon
                 }
                 return Math.min(amperage, getInputAmperage());
             }
+            refreshBatteries();
             IItemHandlerModifiable inventory = getInventory();
-            for (int i = 0; i < inventory.getSlots(); i++) {
-                ItemStack batteryStack = inventory.getStackInSlot(i);
-                IElectricItem electricItem = getBatteryContainer(batteryStack);
+            for (int i = 0; i < batteries.length && amperage > 0; i++) {
+                IElectricItem electricItem = batteries[i];
                 if (electricItem == null) continue;
                 if(chargeOrDischargeItem(electricItem, voltage, getTier(), true)) {
                     chargeOrDischargeItem(electricItem, voltage, getTier(), false);
-                    inventory.setStackInSlot(i, batteryStack);
-                    if(--amperage == 0) break;
+                    inventory.setStackInSlot(i, inventory.getStackInSlot(i));
+                    markSlotChanged(i);
+                    amperage--;
                 }
             }
         }
@@ -73,96 +93,123 @@ public class EnergyContainerBatteryBuffer extends MTETrait implements IEnergyCon
     @Override
     public void update() {
         if(!metaTileEntity.getWorld().isRemote) {
+            refreshBatteries();
+            if(readySlotsCount == 0) return;
             EnumFacing outFacing = metaTileEntity.getFrontFacing();
-            TileEntity tileEntity = metaTileEntity.getWorld().getTileEntity
-                (metaTileEntity.getPos().offset(outFacing));
-            if(tileEntity == null) return;
-            IEnergyContainer energyContainer = tileEntity.getCapability(
-                GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, outFacing.getOpposite());
+            IEnergyContainer energyContainer = metaTileEntity.getNeighborCapability(
+                GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, outFacing);
             if(energyContainer == null) return;
-            IItemHandlerModifiable inventory = getInventory();
             long voltage = getOutputVoltage();
-            long maxAmperage = 0L;
-            TIntList slotsList = new TIntArrayList();
-            for (int i = 0; i < inventory.getSlots(); i++) {
-                ItemStack batteryStack = inventory.getStackInSlot(i);
-                IElectricItem electricItem = getBatteryContainer(batteryStack);
-                if (electricItem == null) continue;
-                if(electricItem.discharge(voltage, getTier(), true, true, true) == voltage) {
-                    slotsList.add(i);
-                    maxAmperage++;
-                }
-            }
-            if(maxAmperage == 0) return;
-            long amperageUsed = energyContainer.acceptEnergyFromNetwork(outFacing.getOpposite(), voltage, maxAmperage);
+            long amperageUsed = energyContainer.acceptEnergyFromNetwork(outFacing.getOpposite(), voltage, readySlotsCount);
             if(amperageUsed == 0) return;
-            for (int i : slotsList.toArray()) {
-                ItemStack batteryStack = inventory.getStackInSlot(i);
-                IElectricItem electricItem = getBatteryContainer(batteryStack);
-                if (electricItem == null) continue;
-                electricItem.discharge(voltage, getTier(), true, true, false);
-                inventory.setStackInSlot(i, batteryStack);
-                if(--amperageUsed == 0) break;
+            IItemHandlerModifiable inventory = getInventory();
+            //ready slots are only rebuilt on refresh, so changes made below don't affect iteration
+            for (int i = 0; i < readySlotsCount && amperageUsed > 0; i++) {
+                int slot = readySlots[i];
+                batteries[slot].discharge(voltage, getTier(), true, true, false);
+                inventory.setStackInSlot(slot, inventory.getStackInSlot(slot));
+                markSlotChanged(slot);
+                amperageUsed--;
             }
         }
     }
 
-    private List<IElectricItem> getElectricItems() {
-        List<IElectricItem> electricItems = new ArrayList<>();
+    private void markSlotChanged(int slot) {
+        this.changedSlots[slot] = true;
+        this.hasChangedSlots = true;
+    }
+
+    private void detectChangedSlots() {
         IItemHandlerModifiable inventory = getInventory();
-        for(int i = 0; i < inventory.getSlots(); i++) {
-            ItemStack batteryStack = inventory.getStackInSlot(i);
-            IElectricItem electricItem = getBatteryContainer(batteryStack);
-            if (electricItem != null) electricItems.add(electricItem);
+        int slots = inventory.getSlots();
+        if(batteries.length != slots) {
+            this.batteries = new IElectricItem[slots];
+            this.batteryEnergyStored = new long[slots];
+            this.batteryEnergyCapacity = new long[slots];
+            this.batteryReady = new boolean[slots];
+            this.changedSlots = new boolean[slots];
+            this.lastStacks = new ItemStack[slots];
+            this.readySlots = new int[slots];
+        }
+        for(int i = 0; i < slots; i++) {
+            ItemStack itemStack = inventory.getStackInSlot(i);
+            if(itemStack != lastStacks[i]) {
+                this.lastStacks[i] = itemStack;
+                markSlotChanged(i);
+            }
         }
-        return electricItems;
     }
 
-    private long getCastedSum(ToLongFunction<IElectricItem> toLong) {
-        return castedSum(getElectricItems().stream()
-            .mapToLong(toLong)
-            .toArray());
+    private void refreshBatteries() {
+        detectChangedSlots();
+        if(!hasChangedSlots) return;
+        IItemHandlerModifiable inventory = getInventory();
+        int slots = batteries.length;
+        long voltage = getOutputVoltage();
+        this.readySlotsCount = 0;
+        this.batteryCount = 0;
+        for(int i = 0; i < slots; i++) {
+            if(changedSlots[i]) {
+                this.changedSlots[i] = false;
+                IElectricItem electricItem = getBatteryContainer(inventory.getStackInSlot(i));
+                this.batteries[i] = electricItem;
+                this.batteryEnergyStored[i] = electricItem == null ? 0L : electricItem.discharge(Long.MAX_VALUE, getTier(), true, true, true);
+                this.batteryEnergyCapacity[i] = electricItem == null ? 0L : electricItem.getMaxCharge();
+                this.batteryReady[i] = electricItem != null && electricItem.discharge(voltage, getTier(), true, true, true) == voltage;
+            }
+            if(batteries[i] != null) {
+                this.batteryCount++;
+            }
+            if(batteryReady[i]) {
+                this.readySlots[readySlotsCount++] = i;
+            }
+        }
+        this.totalsOverflow = false;
+        this.energyStored = computeCastedSum(batteryEnergyStored);
+        this.energyCapacity = computeCastedSum(batteryEnergyCapacity);
+        this.hasChangedSlots = false;
     }
 
-    private BigInteger getActualSum(ToLongFunction<IElectricItem> toLong) {
-        return sum(getElectricItems().stream()
-            .mapToLong(toLong)
-            .toArray());
+    private long computeCastedSum(long[] values) {
+        long result = 0L;
+        for(long value : values) {
+            if(Long.MAX_VALUE - result < value) {
+                this.totalsOverflow = true;
+                return Long.MAX_VALUE;
+            }
+            result += value;
+        }
+        return result;
     }
 
-    private final ToLongFunction<IElectricItem> getEnergyStored = electricItem -> electricItem.discharge(Long.MAX_VALUE, getTier(), true, true, true);
-
     @Override
     public long getEnergyCapacity() {
-        return getCastedSum(IElectricItem::getMaxCharge);
+        refreshBatteries();
+        return energyCapacity;
     }
 
     @Override
     public BigInteger getEnergyCapacityActual() {
-        return getActualSum(IElectricItem::getMaxCharge);
+        refreshBatteries();
+        return totalsOverflow ? sum(batteryEnergyCapacity.clone()) : BigInteger.valueOf(energyCapacity);
     }
 
     @Override
     public long getEnergyStored() {
-        return getCastedSum(getEnergyStored);
+        refreshBatteries();
+        return energyStored;
     }
 
     @Override
     public BigInteger getEnergyStoredActual() {
-        return getActualSum(getEnergyStored);
+        refreshBatteries();
+        return totalsOverflow ? sum(batteryEnergyStored.clone()) : BigInteger.valueOf(energyStored);
     }
 
     @Override
     public long getInputAmperage() {
-        long inputAmperage = 0L;
-        IItemHandlerModifiable inventory = getInventory();
-        for (int i = 0; i < inventory.getSlots(); i++) {
-            ItemStack batteryStack = inventory.getStackInSlot(i);
-            IElectricItem electricItem = getBatteryContainer(batteryStack);
-            if (electricItem == null) continue;
-            inputAmperage++;
-        }
-        return inputAmperage;
+        refreshBatteries();
+        return batteryCount;
     }
 
     public IElectricItem getBatteryContainer(ItemStack itemStack) {
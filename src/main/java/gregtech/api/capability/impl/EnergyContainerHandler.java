@@ -9,7 +9,6 @@ import gregtech.api.util.GTUtility;
 import gregtech.common.ConfigHolder;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.common.capabilities.Capability;
@@ -110,6 +109,12 @@ public class EnergyContainerHandler extends MTETrait implements IEnergyContainer
         }
     }
 
+    @Override
+    public int getTicksUntilNextUpdate() {
+        //only emitters are doing anything during update
+        return getOutputVoltage() > 0 && getOutputAmperage() > 0 ? 1 : MetaTileEntity.SLEEP_UNTIL_WOKEN;
+    }
+
     @Override
     public void update() {
         if (getMetaTileEntity().getWorld().isRemote)
@@ -121,14 +126,11 @@ public class EnergyContainerHandler extends MTETrait implements IEnergyContainer
             long amperesUsed = 0;
             for(EnumFacing side : EnumFacing.VALUES) {
                 if(!outputsEnergy(side)) continue;
-                TileEntity tileEntity = metaTileEntity.getWorld().getTileEntity(metaTileEntity.getPos().offset(side));
                 EnumFacing oppositeSide = side.getOpposite();
-                if(tileEntity != null && tileEntity.hasCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, oppositeSide)) {
-                    IEnergyContainer energyContainer = tileEntity.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, oppositeSide);
-                    if(energyContainer == null || !energyContainer.inputsEnergy(oppositeSide)) continue;
-                    amperesUsed += energyContainer.acceptEnergyFromNetwork(oppositeSide, outputVoltage, outputAmperes - amperesUsed);
-                    if(amperesUsed == outputAmperes) break;
-                }
+                IEnergyContainer energyContainer = metaTileEntity.getNeighborCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, side);
+                if(energyContainer == null || !energyContainer.inputsEnergy(oppositeSide)) continue;
+                amperesUsed += energyContainer.acceptEnergyFromNetwork(oppositeSide, outputVoltage, outputAmperes - amperesUsed);
+                if(amperesUsed == outputAmperes) break;
             }
             if(amperesUsed > 0) {
                 setEnergyStored(getEnergyStored() - amperesUsed * outputVoltage);
@@ -6,23 +6,35 @@ import net.minecraft.util.EnumFacing;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Function;
-import java.util.function.ToLongFunction;
 
-import static gregtech.api.util.GTUtility.*;
+import static gregtech.api.util.GTUtility.castToLong;
 
+/**
+ * Energy container combining energy containers of multiblock parts
+ * Containers are split into overflow safe and unsafe ones once on construction, and sums are computed with plain
+ * long arithmetic, falling back to big integers only when unsafe containers are present or sum actually overflows
+ */
 public class EnergyContainerList implements IEnergyContainer.IEnergyContainerOverflowSafe {
 
-    private List<IEnergyContainer> energyContainerList;
+    private final IEnergyContainer[] energyContainers;
+    private final IEnergyContainer[] overflowSafeContainers;
+    private final IEnergyContainer[] overflowUnsafeContainers;
 
     public EnergyContainerList(List<IEnergyContainer> energyContainerList) {
-        this.energyContainerList = energyContainerList;
+        this.energyContainers = energyContainerList.toArray(new IEnergyContainer[0]);
+        List<IEnergyContainer> overflowSafe = new ArrayList<>();
+        List<IEnergyContainer> overflowUnsafe = new ArrayList<>();
+        for (IEnergyContainer energyContainer : energyContainers) {
+            (energyContainer.isSummationOverflowSafe() ? overflowSafe : overflowUnsafe).add(energyContainer);
+        }
+        this.overflowSafeContainers = overflowSafe.toArray(new IEnergyContainer[0]);
+        this.overflowUnsafeContainers = overflowUnsafe.toArray(new IEnergyContainer[0]);
     }
 
     @Override
     public long acceptEnergyFromNetwork(EnumFacing side, long voltage, long amperage) {
         long amperesUsed = 0L;
-        for (IEnergyContainer energyContainer : energyContainerList) {
+        for (IEnergyContainer energyContainer : energyContainers) {
             amperesUsed += energyContainer.acceptEnergyFromNetwork(null, voltage, amperage);
             if (amperage == amperesUsed) break;
         }
@@ -32,66 +44,73 @@ public class EnergyContainerList implements IEnergyContainer.IEnergyContainerOve
     @Override
     public long changeEnergy(long energyToAdd) {
         long energyAdded = 0L;
-        for(IEnergyContainer energyContainer : energyContainerList) {
+        for(IEnergyContainer energyContainer : energyContainers) {
             energyAdded += energyContainer.changeEnergy(energyToAdd - energyAdded);
             if(energyAdded == energyToAdd) break;
         }
         return energyAdded;
     }
 
-    private long getCastedSum(ToLongFunction<IEnergyContainer> toLong, Function<IEnergyContainer, BigInteger> toBigInteger) {
-        List<IEnergyContainer> overflowSafe = new ArrayList<>();
-        List<IEnergyContainer> overflowUnsafe = new ArrayList<>();
-        for (IEnergyContainer energyContainer : energyContainerList) {
-            (energyContainer.isSummationOverflowSafe() ? overflowSafe : overflowUnsafe).add(energyContainer);
-        }
-        long[] values = overflowSafe.stream()
-            .mapToLong(toLong)
-            .toArray();
-        if (overflowUnsafe.isEmpty()) {
-            return castedSum(values);
-        } else {
-            BigInteger result = sum(values);
-            for (IEnergyContainer energyContainer : overflowUnsafe) {
-                result = result.add(toBigInteger.apply(energyContainer));
+    /**
+     * @return sum of overflow safe container values, or -1 if it doesn't fit into long
+     */
+    private long getLongSum(boolean capacity) {
+        long result = 0L;
+        for (IEnergyContainer energyContainer : overflowSafeContainers) {
+            long value = capacity ? energyContainer.getEnergyCapacity() : energyContainer.getEnergyStored();
+            if (value < 0L || Long.MAX_VALUE - result < value) {
+                return -1L;
             }
-            return castToLong(result);
+            result += value;
         }
+        return result;
     }
 
-    private BigInteger getActualSum(ToLongFunction<IEnergyContainer> toLong, Function<IEnergyContainer, BigInteger> toBigInteger) {
-        List<IEnergyContainer> overflowSafe = new ArrayList<>();
-        List<IEnergyContainer> overflowUnsafe = new ArrayList<>();
-        for (IEnergyContainer energyContainer : energyContainerList) {
-            (energyContainer.isSummationOverflowSafe() ? overflowSafe : overflowUnsafe).add(energyContainer);
+    private BigInteger getActualSum(boolean capacity) {
+        long longSum = getLongSum(capacity);
+        BigInteger result;
+        if (longSum >= 0L) {
+            result = BigInteger.valueOf(longSum);
+        } else {
+            result = BigInteger.ZERO;
+            for (IEnergyContainer energyContainer : overflowSafeContainers) {
+                result = result.add(BigInteger.valueOf(capacity ? energyContainer.getEnergyCapacity() : energyContainer.getEnergyStored()));
+            }
         }
-        BigInteger result = sum(overflowSafe.stream()
-            .mapToLong(toLong)
-            .toArray());
-        if (!overflowUnsafe.isEmpty()) for (IEnergyContainer energyContainer : overflowUnsafe) {
-            result = result.add(toBigInteger.apply(energyContainer));
+        for (IEnergyContainer energyContainer : overflowUnsafeContainers) {
+            result = result.add(capacity ? energyContainer.getEnergyCapacityActual() : energyContainer.getEnergyStoredActual());
         }
         return result;
     }
 
+    private long getCastedSum(boolean capacity) {
+        if (overflowUnsafeContainers.length == 0) {
+            long longSum = getLongSum(capacity);
+            if (longSum >= 0L) {
+                return longSum;
+            }
+        }
+        return castToLong(getActualSum(capacity));
+    }
+
     @Override
     public long getEnergyStored() {
-        return getCastedSum(IEnergyContainer::getEnergyStored, IEnergyContainer::getEnergyStoredActual);
+        return getCastedSum(false);
     }
 
     @Override
     public BigInteger getEnergyStoredActual() {
-        return getActualSum(IEnergyContainer::getEnergyStored, IEnergyContainer::getEnergyStoredActual);
+        return getActualSum(false);
     }
 
     @Override
     public long getEnergyCapacity() {
-        return getCastedSum(IEnergyContainer::getEnergyCapacity, IEnergyContainer::getEnergyCapacityActual);
+        return getCastedSum(true);
     }
 
     @Override
     public BigInteger getEnergyCapacityActual() {
-        return getActualSum(IEnergyContainer::getEnergyCapacity, IEnergyContainer::getEnergyCapacityActual);
+        return getActualSum(true);
     }
 
     @Override
@@ -106,16 +125,20 @@ public class EnergyContainerList implements IEnergyContainer.IEnergyContainerOve
 
     @Override
     public long getInputVoltage() {
-        return energyContainerList.stream()
-            .mapToLong(v -> v.getInputVoltage() * v.getInputAmperage())
-            .sum();
+        long inputVoltage = 0L;
+        for (IEnergyContainer energyContainer : energyContainers) {
+            inputVoltage += energyContainer.getInputVoltage() * energyContainer.getInputAmperage();
+        }
+        return inputVoltage;
     }
 
     @Override
     public long getOutputVoltage() {
-        return energyContainerList.stream()
-            .mapToLong(v -> v.getOutputVoltage() * v.getOutputAmperage())
-            .sum();
+        long outputVoltage = 0L;
+        for (IEnergyContainer energyContainer : energyContainers) {
+            outputVoltage += energyContainer.getOutputVoltage() * energyContainer.getOutputAmperage();
+        }
+        return outputVoltage;
     }
 
     @Override
@@ -9,6 +9,7 @@ import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.ItemHandlerSnapshot;
 import gregtech.api.util.XSTR;
 import gregtech.common.ConfigHolder;
 import net.minecraft.item.ItemStack;
@@ -42,6 +43,13 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
     private boolean hasNotEnoughEnergy;
     private boolean wasActiveAndNeedsUpdate;
 
+    //exact copy of inputs for which last recipe search has failed
+    private boolean hasFailedRecipeSearch;
+    private long failedSearchVoltage;
+    private int failedSearchRecipesRevision;
+    private final ItemHandlerSnapshot failedSearchItemInputs = new ItemHandlerSnapshot();
+    private FluidStack[] failedSearchFluidInputs = new FluidStack[0];
+
     public RecipeMapWorkableHandler(MetaTileEntity tileEntity, RecipeMap<?> recipeMap) {
         super(tileEntity);
         this.recipeMap = recipeMap;
@@ -111,6 +119,15 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
         }
     }
 
+    @Override
+    public int getTicksUntilNextUpdate() {
+        //new recipes are only started on content change, so idle workable doesn't need updates
+        if(progressTime == 0 && !wasActiveAndNeedsUpdate) {
+            return MetaTileEntity.SLEEP_UNTIL_WOKEN;
+        }
+        return 1;
+    }
+
     @Override
     public void onContentChanged() {
         if(progressTime == 0 && workingEnabled) {
@@ -122,12 +139,21 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
                 //if previous recipe still matches inputs, try to use it
                 currentRecipe = previousRecipe;
             } else {
+                //skip search if it has already failed for exactly the same inputs
+                if(isFailedRecipeSearch(maxVoltage, importInventory, importFluids)) {
+                    return;
+                }
                 //else, try searching new recipe for given inputs
                 currentRecipe = findRecipe(maxVoltage, importInventory, importFluids);
                 //if we found recipe that can be buffered, buffer it
                 if(currentRecipe != null && currentRecipe.canBeBuffered()) {
                     this.previousRecipe = currentRecipe;
                 }
+                if(currentRecipe == null) {
+                    setFailedRecipeSearch(maxVoltage, importInventory, importFluids);
+                } else {
+                    invalidateRecipeSearchCache();
+                }
             }
             if(currentRecipe != null && setupAndConsumeRecipeInputs(currentRecipe)) {
                 setupRecipe(currentRecipe);
@@ -139,6 +165,48 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
         return recipeMap.findRecipe(maxVoltage, inputs, fluidInputs);
     }
 
+    /**
+     * Forces next content change to search for recipe even if inputs are the same as in last failed search
+     * Should be called when recipe search result can change without inputs changing
+     */
+    public void invalidateRecipeSearchCache() {
+        this.hasFailedRecipeSearch = false;
+    }
+
+    private void setFailedRecipeSearch(long maxVoltage, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
+        this.hasFailedRecipeSearch = true;
+        this.failedSearchVoltage = maxVoltage;
+        this.failedSearchRecipesRevision = recipeMap.getRecipesRevision();
+        this.failedSearchItemInputs.update(inputs);
+        if(failedSearchFluidInputs.length != fluidInputs.getTanks()) {
+            this.failedSearchFluidInputs = new FluidStack[fluidInputs.getTanks()];
+        }
+        for(int i = 0; i < failedSearchFluidInputs.length; i++) {
+            FluidStack fluidStack = fluidInputs.getTankAt(i).getFluid();
+            this.failedSearchFluidInputs[i] = fluidStack == null ? null : fluidStack.copy();
+        }
+    }
+
+    /**
+     * @return true if last recipe search has failed for exactly the same inputs,
+     *         machine voltage and recipe map contents
+     */
+    private boolean isFailedRecipeSearch(long maxVoltage, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
+        if(!hasFailedRecipeSearch || failedSearchVoltage != maxVoltage ||
+            failedSearchRecipesRevision != recipeMap.getRecipesRevision() ||
+            failedSearchFluidInputs.length != fluidInputs.getTanks()) {
+            return false;
+        }
+        for(int i = 0; i < failedSearchFluidInputs.length; i++) {
+            FluidStack fluidStack = fluidInputs.getTankAt(i).getFluid();
+            FluidStack failedFluidStack = failedSearchFluidInputs[i];
+            if(fluidStack == null ? failedFluidStack != null : !fluidStack.isFluidStackIdentical(failedFluidStack)) {
+                return false;
+            }
+        }
+        return failedSearchItemInputs.matches(inputs);
+    }
+
     protected boolean setupAndConsumeRecipeInputs(Recipe recipe) {
         int[] resultOverclock = calculateOverclock(recipe.getEUt(), getMaxVoltage(), recipeMap.getAmperage(), recipe.getDuration(), false);
         int totalEUt = resultOverclock[0] * resultOverclock[1];
@@ -274,8 +342,10 @@ public abstract class RecipeMapWorkableHandler extends MTETrait implements IWork
     @Override
     public void setWorkingEnabled(boolean workingEnabled) {
         this.workingEnabled = workingEnabled;
+        this.hasFailedRecipeSearch = false;
         if(!metaTileEntity.getWorld().isRemote) {
             metaTileEntity.markDirty();
+            metaTileEntity.wakeUp();
         }
     }
 
@@ -30,6 +30,7 @@ import java.util.function.Consumer;
  * Cover filters out interaction and logic of meta tile entity
  *
  * Can implement {@link net.minecraft.util.ITickable} to listen to meta tile entity updates
+ * Tickable covers can override {@link #getTicksUntilNextUpdate()} to be updated less frequently
  */
 @SuppressWarnings("unused")
 public abstract class CoverBehavior implements IUIHolder {
@@ -93,6 +94,15 @@ public abstract class CoverBehavior implements IUIHolder {
      */
     public void onRemoved() {}
 
+    /**
+     * Returns amount of ticks until this cover needs to be updated again, counting from current update
+     * Only used by covers implementing {@link net.minecraft.util.ITickable}
+     * @see gregtech.api.metatileentity.MetaTileEntity#getTicksUntilNextUpdate()
+     */
+    public int getTicksUntilNextUpdate() {
+        return 1;
+    }
+
     @SideOnly(Side.CLIENT)
     public TextureAtlasSprite getPlateSprite() {
         return Textures.VOLTAGE_CASINGS[GTValues.LV].getSpriteOnSide(RenderSide.SIDE);
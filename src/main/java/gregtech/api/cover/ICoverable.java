@@ -20,8 +20,19 @@ public interface ICoverable {
     void markDirty();
     boolean isValid();
 
+    /**
+     * Makes cover holder update on the next tick, even if all it's components are sleeping
+     */
+    void wakeUp();
+
     <T> T getCapability(Capability<T> capability, EnumFacing side);
 
+    /**
+     * @return capability of tile entity adjacent to cover holder on given side,
+     *         requested from the side facing cover holder
+     */
+    <T> T getNeighborCapability(Capability<T> capability, EnumFacing side);
+
     boolean placeCoverOnSide(EnumFacing side, ItemStack itemStack, CoverDefinition definition);
 
     boolean removeCover(EnumFacing side);
@@ -0,0 +1,76 @@
+package gregtech.api.gui;
+
+import net.minecraft.network.PacketBuffer;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Helpers for sending widget state as difference from previously sent state
+ * Both sides are expected to keep the same previously synced state, so diffs written
+ * by server from it can be applied by client to it's own copy
+ */
+public final class DeltaEncoding {
+
+    private DeltaEncoding() {
+    }
+
+    /**
+     * Writes difference between values as zigzag encoded variable length integer,
+     * so small changes of big values take only one or two bytes
+     */
+    public static void writeVarIntDelta(PacketBuffer buffer, int lastValue, int newValue) {
+        long delta = (long) newValue - lastValue;
+        buffer.writeVarLong(delta << 1 ^ delta >> 63);
+    }
+
+    public static int readVarIntDelta(PacketBuffer buffer, int lastValue) {
+        long encodedDelta = buffer.readVarLong();
+        long delta = encodedDelta >>> 1 ^ -(encodedDelta & 1);
+        return (int) (lastValue + delta);
+    }
+
+    /**
+     * Writes new list size and only elements which differ from elements at the same index of last list
+     */
+    public static <T> void writeListDelta(PacketBuffer buffer, List<T> lastList, List<T> newList, BiConsumer<PacketBuffer, T> elementWriter) {
+        int changedElements = 0;
+        for(int i = 0; i < newList.size(); i++) {
+            if(isElementChanged(lastList, newList, i)) {
+                changedElements++;
+            }
+        }
+        buffer.writeVarInt(newList.size());
+        buffer.writeVarInt(changedElements);
+        for(int i = 0; i < newList.size(); i++) {
+            if(isElementChanged(lastList, newList, i)) {
+                buffer.writeVarInt(i);
+                elementWriter.accept(buffer, newList.get(i));
+            }
+        }
+    }
+
+    /**
+     * Applies list diff written by {@link #writeListDelta} to given list
+     */
+    public static <T> void readListDelta(PacketBuffer buffer, List<T> list, Function<PacketBuffer, T> elementReader) {
+        int newSize = buffer.readVarInt();
+        while(list.size() > newSize) {
+            list.remove(list.size() - 1);
+        }
+        while(list.size() < newSize) {
+            //all elements out of last list bounds are always written
+            list.add(null);
+        }
+        int changedElements = buffer.readVarInt();
+        for(int i = 0; i < changedElements; i++) {
+            int index = buffer.readVarInt();
+            list.set(index, elementReader.apply(buffer));
+        }
+    }
+
+    private static <T> boolean isElementChanged(List<T> lastList, List<T> newList, int index) {
+        return index >= lastList.size() || !lastList.get(index).equals(newList.get(index));
+    }
+}
@@ -24,6 +24,8 @@ public abstract class Widget {
     protected ModularUI gui;
     protected SizeProvider sizes;
     protected WidgetUIAccess uiAccess;
+    private int syncInterval = 1;
+    private int ticksUntilSync = 0;
 
     public Widget() {
     }
@@ -56,6 +58,29 @@ public abstract class Widget {
     public void detectAndSendChanges() {
     }
 
+    /**
+     * Called on serverside every tick, calls {@link #detectAndSendChanges} once per sync interval
+     */
+    public final void detectAndSendChangesScheduled() {
+        if(--ticksUntilSync <= 0) {
+            this.ticksUntilSync = syncInterval;
+            detectAndSendChanges();
+        }
+    }
+
+    public int getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Sets amount of ticks between change detections, for widgets
+     * whose state is expensive to compute and doesn't need to be updated every tick
+     */
+    public Widget setSyncInterval(int syncInterval) {
+        this.syncInterval = Math.max(1, syncInterval);
+        return this;
+    }
+
     /**
      * Called clientside every tick with this modular UI open
      */
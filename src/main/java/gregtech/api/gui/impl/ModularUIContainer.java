@@ -7,6 +7,7 @@ import gregtech.api.gui.widgets.WidgetUIAccess;
 import gregtech.api.net.NetworkHandler;
 import gregtech.api.net.PacketUIClientAction;
 import gregtech.api.net.PacketUIWidgetUpdate;
+import gregtech.api.net.PacketUIWidgetUpdateBatch;
 import gregtech.api.util.GTUtility;
 import io.netty.buffer.Unpooled;
 import net.minecraft.client.entity.EntityPlayerSP;
@@ -48,13 +49,33 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
     @Override
     public void addListener(IContainerListener listener) {
         super.addListener(listener);
+        this.accumulateWidgetUpdateData = true;
         modularUI.guiWidgets.values().forEach(Widget::detectAndSendChanges);
+        this.accumulateWidgetUpdateData = false;
+        sendAccumulatedUpdates();
     }
 
     @Override
     public void detectAndSendChanges() {
         super.detectAndSendChanges();
-        modularUI.guiWidgets.values().forEach(Widget::detectAndSendChanges);
+        this.accumulateWidgetUpdateData = true;
+        modularUI.guiWidgets.values().forEach(Widget::detectAndSendChangesScheduled);
+        this.accumulateWidgetUpdateData = false;
+        sendAccumulatedUpdates();
+    }
+
+    private void sendAccumulatedUpdates() {
+        if(accumulatedUpdates.isEmpty() || !(modularUI.entityPlayer instanceof EntityPlayerMP)) {
+            return;
+        }
+        NetworkHandler.Packet packet;
+        if(accumulatedUpdates.size() == 1) {
+            packet = accumulatedUpdates.get(0);
+        } else {
+            packet = new PacketUIWidgetUpdateBatch(windowId, new ArrayList<>(accumulatedUpdates));
+        }
+        accumulatedUpdates.clear();
+        NetworkHandler.channel.sendTo(NetworkHandler.packet2proxy(packet), (EntityPlayerMP) modularUI.entityPlayer);
     }
 
     @Override
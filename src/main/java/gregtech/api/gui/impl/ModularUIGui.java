@@ -23,6 +23,12 @@ public class ModularUIGui extends GuiContainer {
         }
     }
 
+    public static void addWidgetUpdates(List<PacketUIWidgetUpdate> packets) {
+        synchronized (widgetUpdatesLock) {
+            queuingWidgetUpdates.addAll(packets);
+        }
+    }
+
     private final ModularUI modularUI;
 
     public ModularUI getModularUI() {
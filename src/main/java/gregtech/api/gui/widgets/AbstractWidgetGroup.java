@@ -74,7 +74,7 @@ public class AbstractWidgetGroup extends Widget {
     @Override
     public void detectAndSendChanges() {
         for(Widget widget : widgets) {
-            widget.detectAndSendChanges();
+            widget.detectAndSendChangesScheduled();
         }
     }
 
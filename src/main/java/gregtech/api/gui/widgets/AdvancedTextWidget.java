@@ -1,5 +1,6 @@
 package gregtech.api.gui.widgets;
 
+import gregtech.api.gui.DeltaEncoding;
 import gregtech.api.gui.Widget;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
@@ -46,25 +47,19 @@ public class AdvancedTextWidget extends Widget {
         ArrayList<ITextComponent> textBuffer = new ArrayList<>();
         textSupplier.accept(textBuffer);
         if(!lastText.equals(textBuffer)) {
+            ArrayList<ITextComponent> previousText = this.lastText;
             this.lastText = textBuffer;
-            writeUpdateInfo(1, buffer -> {
-                buffer.writeInt(lastText.size());
-                for(ITextComponent textComponent : lastText) {
-                    buffer.writeString(ITextComponent.Serializer.componentToJson(textComponent));
-                }
-            });
+            //usually only few lines change, like progress or energy values
+            writeUpdateInfo(1, buffer -> DeltaEncoding.writeListDelta(buffer, previousText, textBuffer,
+                (elementBuffer, textComponent) -> elementBuffer.writeString(ITextComponent.Serializer.componentToJson(textComponent))));
         }
     }
 
     @Override
     public void readUpdateInfo(int id, PacketBuffer buffer) {
         if(id == 1) {
-            this.lastText.clear();
-            int count = buffer.readInt();
-            for(int i = 0; i < count; i++) {
-                String jsonText = buffer.readString(32767);
-                this.lastText.add(ITextComponent.Serializer.jsonToComponent(jsonText));
-            }
+            DeltaEncoding.readListDelta(buffer, lastText, elementBuffer ->
+                ITextComponent.Serializer.jsonToComponent(elementBuffer.readString(32767)));
         }
     }
 
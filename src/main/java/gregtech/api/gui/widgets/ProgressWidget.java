@@ -13,6 +13,9 @@ public class ProgressWidget extends Widget {
         HORIZONTAL
     }
 
+    //progress is synced as fixed point number, which takes two bytes instead of eight for values in 0-1 range
+    private static final int PROGRESS_SCALE = 10000;
+
     public final DoubleSupplier progressSupplier;
     private final int x, y, width, height;
 
@@ -75,14 +78,14 @@ public class ProgressWidget extends Widget {
         //todo check if given epsilon is enough for long recipes
         if(Math.abs(actualValue - lastProgressValue) > 0.005) {
             this.lastProgressValue = actualValue;
-            writeUpdateInfo(0, buffer -> buffer.writeDouble(actualValue));
+            writeUpdateInfo(0, buffer -> buffer.writeVarInt((int) Math.round(actualValue * PROGRESS_SCALE)));
         }
     }
 
     @Override
     public void readUpdateInfo(int id, PacketBuffer buffer) {
         if(id == 0) {
-            this.lastProgressValue = buffer.readDouble();
+            this.lastProgressValue = buffer.readVarInt() / (PROGRESS_SCALE * 1.0);
         }
     }
 }
@@ -1,5 +1,6 @@
 package gregtech.api.gui.widgets;
 
+import gregtech.api.gui.DeltaEncoding;
 import gregtech.api.gui.Widget;
 import gregtech.api.gui.resources.RenderUtil;
 import gregtech.api.gui.resources.TextureArea;
@@ -169,8 +170,9 @@ public class TankWidget extends Widget {
                 NBTTagCompound fluidStackTag = fluidStack.writeToNBT(new NBTTagCompound());
                 writeUpdateInfo(2, buffer -> buffer.writeCompoundTag(fluidStackTag));
             } else if(fluidStack.amount != lastFluidInTank.amount) {
+                int lastFluidAmount = lastFluidInTank.amount;
                 this.lastFluidInTank.amount = fluidStack.amount;
-                writeUpdateInfo(3, buffer -> buffer.writeInt(lastFluidInTank.amount));
+                writeUpdateInfo(3, buffer -> DeltaEncoding.writeVarIntDelta(buffer, lastFluidAmount, fluidStack.amount));
             }
         }
     }
@@ -190,7 +192,7 @@ public class TankWidget extends Widget {
             }
             this.lastFluidInTank = FluidStack.loadFluidStackFromNBT(fluidStackTag);
         } else if(id == 3 && lastFluidInTank != null) {
-            this.lastFluidInTank.amount = buffer.readInt();
+            this.lastFluidInTank.amount = DeltaEncoding.readVarIntDelta(buffer, lastFluidInTank.amount);
         }
 
         if(id == 4) {
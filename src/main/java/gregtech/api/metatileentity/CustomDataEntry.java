@@ -0,0 +1,23 @@
+package gregtech.api.metatileentity;
+
+/**
+ * Custom data entry written by {@link MetaTileEntityHolder#writeCustomData},
+ * referencing range of holder's custom data buffer containing entry data
+ */
+final class CustomDataEntry {
+
+    final int discriminator;
+    //identifies synced state for entries which can be replaced by newer ones, null for events
+    final Object stateOwner;
+    final int stateKey;
+    final int dataOffset;
+    final int dataLength;
+
+    CustomDataEntry(int discriminator, Object stateOwner, int stateKey, int dataOffset, int dataLength) {
+        this.discriminator = discriminator;
+        this.stateOwner = stateOwner;
+        this.stateKey = stateKey;
+        this.dataOffset = dataOffset;
+        this.dataLength = dataLength;
+    }
+}
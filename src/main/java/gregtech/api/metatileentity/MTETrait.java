@@ -37,6 +37,16 @@ public abstract class MTETrait {
     public void update() {
     }
 
+    /**
+     * Returns amount of ticks until this trait needs to be updated again, counting from current update
+     * Trait should return {@link MetaTileEntity#SLEEP_UNTIL_WOKEN} when it is idle until content change,
+     * and call {@link MetaTileEntity#wakeUp()} if it's state is changed outside of update
+     * @see MetaTileEntity#getTicksUntilNextUpdate()
+     */
+    public int getTicksUntilNextUpdate() {
+        return 1;
+    }
+
     public NBTTagCompound serializeNBT() {
         return new NBTTagCompound();
     }
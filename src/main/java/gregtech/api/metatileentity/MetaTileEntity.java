@@ -55,6 +55,7 @@ import org.apache.commons.lang3.ArrayUtils;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
@@ -64,6 +65,11 @@ public abstract class MetaTileEntity implements ICoverable {
     private static final Transformation REVERSE_HORIZONTAL_ROTATION = new Rotation(Math.PI, new Vector3(0.0, 1.0, 0.0)).at(Vector3.center);
     private static final Transformation REVERSE_VERTICAL_ROTATION = new Rotation(Math.PI, new Vector3(1.0, 0.0, 0.0)).at(Vector3.center);
     public static final IndexedCuboid6 FULL_CUBE_COLLISION = new IndexedCuboid6(null, Cuboid6.full);
+    /**
+     * Value of getTicksUntilNextUpdate meaning that component doesn't need any updates until
+     * meta tile entity is woken up by content or neighbour change, or by explicit {@link #wakeUp()} call
+     */
+    public static final int SLEEP_UNTIL_WOKEN = Integer.MAX_VALUE;
     public final ResourceLocation metaTileEntityId;
     MetaTileEntityHolder holder;
 
@@ -84,8 +90,13 @@ public abstract class MetaTileEntity implements ICoverable {
 
     private int[] sidedRedstoneOutput = new int[6];
     private int cachedComparatorValue;
+    //holder timer value at which next server side update should happen
+    private long nextUpdateTimer;
+    private boolean wakeUpRequested;
 
     private CoverBehavior[] coverBehaviors = new CoverBehavior[6];
+    //collision boxes of meta tile entity and covers, null if they should be collected again
+    private List<IndexedCuboid6> collisionBoxes;
 
     public MetaTileEntity(ResourceLocation metaTileEntityId) {
         this.metaTileEntityId = metaTileEntityId;
@@ -122,11 +133,20 @@ public abstract class MetaTileEntity implements ICoverable {
     }
 
     public void onContentChanged(Object object) {
+        wakeUp();
         for(MTETrait mteTrait : this.mteTraits) {
             mteTrait.onContentChanged();
         }
     }
 
+    /**
+     * Called on both sides when block adjacent to this meta tile entity changes,
+     * or when adjacent tile entity changes it's contents
+     */
+    public void onNeighborChanged() {
+        wakeUp();
+    }
+
     public abstract MetaTileEntity createMetaTileEntity(MetaTileEntityHolder holder);
 
     public World getWorld() {
@@ -403,7 +423,9 @@ public abstract class MetaTileEntity implements ICoverable {
             removeCover(side);
         }
         this.coverBehaviors[side.getIndex()] = coverBehavior;
+        invalidateCollisionBoxes();
         coverBehavior.onAttached(itemStack);
+        wakeUp();
         writeCustomData(-5, buffer -> {
             buffer.writeByte(side.getIndex());
             buffer.writeString(coverDefinition.getCoverId().toString());
@@ -425,6 +447,7 @@ public abstract class MetaTileEntity implements ICoverable {
         List<ItemStack> drops = coverBehavior.getDrops();
         coverBehavior.onRemoved();
         this.coverBehaviors[side.getIndex()] = null;
+        invalidateCollisionBoxes();
         for(ItemStack dropStack : drops) {
             Block.spawnAsEntity(getWorld(), getPos(), dropStack);
         }
@@ -472,6 +495,28 @@ public abstract class MetaTileEntity implements ICoverable {
         return coverPlateBox;
     }
 
+    /**
+     * @return collision boxes of this meta tile entity and it's covers, collected once and reused until
+     * covers or front facing change. Returned list should not be modified
+     */
+    public final List<IndexedCuboid6> getCollisionBoxes() {
+        if(collisionBoxes == null) {
+            List<IndexedCuboid6> collisionList = new ArrayList<>();
+            addCollisionBoundingBox(collisionList);
+            addCoverCollisionBoundingBox(collisionList);
+            this.collisionBoxes = Collections.unmodifiableList(collisionList);
+        }
+        return collisionBoxes;
+    }
+
+    /**
+     * Drops collision boxes returned by {@link #getCollisionBoxes()}, so they will be collected again
+     * Should be called by implementations whose {@link #addCollisionBoundingBox(List)} depends on their state when it changes
+     */
+    protected final void invalidateCollisionBoxes() {
+        this.collisionBoxes = null;
+    }
+
     public void addCoverCollisionBoundingBox(List<IndexedCuboid6> collisionList) {
         double plateThickness = getCoverPlateThickness();
         if(plateThickness > 0.0) {
@@ -527,6 +572,57 @@ public abstract class MetaTileEntity implements ICoverable {
         }
     }
 
+    /**
+     * Updates this meta tile entity on server side only when it's update is due, and schedules next update
+     * using {@link #getTicksUntilNextUpdate()} of meta tile entity, it's traits and tickable covers
+     * Client side meta tile entities are updated every tick
+     */
+    void performScheduledUpdate() {
+        if(getWorld().isRemote) {
+            update();
+            return;
+        }
+        long timer = getTimer();
+        if(!wakeUpRequested && timer < nextUpdateTimer) {
+            return;
+        }
+        //wake up requests made during update are kept, so they cause update on the next tick
+        this.wakeUpRequested = false;
+        update();
+        long ticksUntilNextUpdate = getTicksUntilNextUpdate();
+        for(MTETrait mteTrait : this.mteTraits) {
+            if(shouldUpdate(mteTrait)) {
+                ticksUntilNextUpdate = Math.min(ticksUntilNextUpdate, mteTrait.getTicksUntilNextUpdate());
+            }
+        }
+        for(CoverBehavior coverBehavior : coverBehaviors) {
+            if(coverBehavior instanceof ITickable) {
+                ticksUntilNextUpdate = Math.min(ticksUntilNextUpdate, coverBehavior.getTicksUntilNextUpdate());
+            }
+        }
+        this.nextUpdateTimer = ticksUntilNextUpdate == SLEEP_UNTIL_WOKEN ? Long.MAX_VALUE :
+            timer + Math.max(1L, ticksUntilNextUpdate);
+    }
+
+    /**
+     * Makes this meta tile entity update on the next tick, regardless of scheduled update time
+     * Should be called whenever something happens that sleeping components could be waiting for
+     */
+    @Override
+    public final void wakeUp() {
+        this.wakeUpRequested = true;
+    }
+
+    /**
+     * Returns amount of ticks until this meta tile entity needs to be updated again, counting from current update
+     * Called on server side after each update. Override together with {@link #update()} to opt in for
+     * less frequent updates; by default meta tile entity is updated every tick
+     * @return amount of ticks until next update, or {@link #SLEEP_UNTIL_WOKEN}
+     */
+    public int getTicksUntilNextUpdate() {
+        return 1;
+    }
+
     public void update() {
         for(MTETrait mteTrait : this.mteTraits) {
             if(shouldUpdate(mteTrait)) {
@@ -662,14 +758,18 @@ public abstract class MetaTileEntity implements ICoverable {
                 this.coverBehaviors[coverSide.getIndex()] = coverBehavior;
             }
         }
+        invalidateCollisionBoxes();
     }
 
     public void writeTraitData(MTETrait trait, int internalId, Consumer<PacketBuffer> dataWriter) {
-        writeCustomData(-4, buffer -> {
-            buffer.writeString(trait.getName());
-            buffer.writeVarInt(internalId);
-            dataWriter.accept(buffer);
-        }) ;
+        if(holder != null) {
+            //trait data ids sync trait state, so only last written value of each of them is sent
+            holder.writeCustomData(-4, trait, internalId, buffer -> {
+                buffer.writeString(trait.getName());
+                buffer.writeVarInt(internalId);
+                dataWriter.accept(buffer);
+            });
+        }
     }
 
     public void writeCoverData(CoverBehavior cover, int internalId, Consumer<PacketBuffer> dataWriter) {
@@ -683,6 +783,7 @@ public abstract class MetaTileEntity implements ICoverable {
     public void receiveCustomData(int dataId, PacketBuffer buf) {
         if (dataId == -2) {
             this.frontFacing = EnumFacing.VALUES[buf.readByte()];
+            invalidateCollisionBoxes();
             getHolder().scheduleChunkForRenderUpdate();
         } else if (dataId == -3) {
             this.paintingColor = buf.readInt();
@@ -700,11 +801,13 @@ public abstract class MetaTileEntity implements ICoverable {
             CoverBehavior coverBehavior = coverDefinition.createCoverBehavior(this, placementSide);
             this.coverBehaviors[placementSide.getIndex()] = coverBehavior;
             coverBehavior.readInitialSyncData(buf);
+            invalidateCollisionBoxes();
             getHolder().scheduleChunkForRenderUpdate();
         } else if (dataId == -6) {
             //cover removed event
             EnumFacing placementSide = EnumFacing.VALUES[buf.readByte()];
             this.coverBehaviors[placementSide.getIndex()] = null;
+            invalidateCollisionBoxes();
             getHolder().scheduleChunkForRenderUpdate();
         } else if (dataId == -7) {
             //cover custom data received
@@ -777,10 +880,34 @@ public abstract class MetaTileEntity implements ICoverable {
         return false;
     }
 
+    /**
+     * @return tile entity adjacent to this meta tile entity on given side,
+     *         cached by holder until adjacent block changes
+     */
+    @Nullable
+    public TileEntity getNeighbor(EnumFacing facing) {
+        return holder == null ? null : holder.getNeighborCache().getNeighbor(getWorld(), getPos(), facing);
+    }
+
+    @Override
+    @Nullable
+    public <T> T getNeighborCapability(Capability<T> capability, EnumFacing facing) {
+        return holder == null ? null : holder.getNeighborCache().getCapability(getWorld(), getPos(), facing, capability);
+    }
+
+    @Nullable
+    private IFluidHandler getNearbyFluidHandler(EnumFacing nearbyFacing) {
+        IFluidHandler fluidHandler = getNeighborCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, nearbyFacing);
+        if(fluidHandler == null && getNeighbor(nearbyFacing) == null) {
+            //fluid blocks don't have tile entities, so they are wrapped separately
+            fluidHandler = FluidUtil.getFluidHandler(getWorld(), getPos().offset(nearbyFacing), nearbyFacing.getOpposite());
+        }
+        return fluidHandler;
+    }
+
     public void pushFluidsIntoNearbyHandlers(EnumFacing... allowedFaces) {
         for(EnumFacing nearbyFacing : allowedFaces) {
-            IFluidHandler fluidHandler = FluidUtil.getFluidHandler(getWorld(),
-                getPos().offset(nearbyFacing), nearbyFacing.getOpposite());
+            IFluidHandler fluidHandler = getNearbyFluidHandler(nearbyFacing);
             if(fluidHandler == null) continue;
             for(int tankIndex = 0; tankIndex < exportFluids.getTanks(); tankIndex++) {
                 IFluidTank tank = exportFluids.getTankAt(tankIndex);
@@ -795,8 +922,7 @@ public abstract class MetaTileEntity implements ICoverable {
 
     public void pushItemsIntoNearbyHandlers(EnumFacing... allowedFaces) {
         for(EnumFacing nearbyFacing : allowedFaces) {
-            TileEntity tileEntity = getWorld().getTileEntity(getPos().offset(nearbyFacing));
-            IItemHandler itemHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, nearbyFacing.getOpposite());
+            IItemHandler itemHandler = getNeighborCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, nearbyFacing);
             if(itemHandler == null) {
                 continue;
             }
@@ -806,8 +932,7 @@ public abstract class MetaTileEntity implements ICoverable {
 
     public void pullItemsFromNearbyHandlers(EnumFacing... allowedFaces) {
         for(EnumFacing nearbyFacing : allowedFaces) {
-            TileEntity tileEntity = getWorld().getTileEntity(getPos().offset(nearbyFacing));
-            IItemHandler itemHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, nearbyFacing.getOpposite());
+            IItemHandler itemHandler = getNeighborCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, nearbyFacing);
             if(itemHandler == null) {
                 continue;
             }
@@ -832,7 +957,7 @@ public abstract class MetaTileEntity implements ICoverable {
 
     public void pullFluidsFromNearbyHandlers(EnumFacing... allowedFaces) {
         for(EnumFacing nearbyFacing : allowedFaces) {
-            IFluidHandler fluidHandler = FluidUtil.getFluidHandler(getWorld(), getPos().offset(nearbyFacing), nearbyFacing.getOpposite());
+            IFluidHandler fluidHandler = getNearbyFluidHandler(nearbyFacing);
             if(fluidHandler == null) continue;
             for(IFluidTankProperties tankProperties : fluidHandler.getTankProperties()) {
                 FluidStack currentFluid = tankProperties.getContents();
@@ -893,9 +1018,11 @@ public abstract class MetaTileEntity implements ICoverable {
     public void setFrontFacing(EnumFacing frontFacing) {
         Preconditions.checkNotNull(frontFacing, "frontFacing");
         this.frontFacing = frontFacing;
+        invalidateCollisionBoxes();
         if (getWorld() != null && !getWorld().isRemote) {
             getHolder().notifyBlockUpdate();
             markDirty();
+            wakeUp();
             writeCustomData(-2, buf -> buf.writeByte(frontFacing.getIndex()));
             mteTraits.forEach(trait -> trait.onFrontFacingSet(frontFacing));
         }
@@ -987,6 +1114,7 @@ public abstract class MetaTileEntity implements ICoverable {
                 this.coverBehaviors[coverSide.getIndex()] = coverBehavior;
             }
         }
+        invalidateCollisionBoxes();
     }
 
     @Override
@@ -1017,6 +1145,12 @@ public abstract class MetaTileEntity implements ICoverable {
     public void onRemoval() {
     }
 
+    /**
+     * Called when chunk containing this meta tile entity is unloaded
+     */
+    public void onUnload() {
+    }
+
     public EnumFacing getFrontFacing() {
         return frontFacing;
     }
@@ -7,11 +7,11 @@ import gregtech.api.block.machines.BlockMachine;
 import gregtech.api.gui.IUIHolder;
 import gregtech.api.util.GTControlledRegistry;
 import gregtech.api.util.GTLog;
+import gregtech.api.util.NeighborCapabilityCache;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.play.server.SPacketUpdateTileEntity;
@@ -19,6 +19,7 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.util.Constants.NBT;
 
@@ -29,8 +30,17 @@ import java.util.stream.Collectors;
 
 public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIHolder {
 
+    private static final int MIN_COMPACTED_BUFFER_SIZE = 1024;
+
     private MetaTileEntity metaTileEntity;
     private boolean needToUpdateLightning = false;
+    private final NeighborCapabilityCache neighborCache = new NeighborCapabilityCache();
+
+    //custom data written since last update packet, entries reference ranges of the buffer
+    private final List<CustomDataEntry> customDataEntries = new ArrayList<>();
+    private ByteBuf customDataBuffer;
+    private int liveCustomDataBytes = 0;
+    private boolean hasPendingCustomData = false;
 
     public MetaTileEntity getMetaTileEntity() {
         return metaTileEntity;
@@ -59,6 +69,10 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
         return metaTileEntity;
     }
 
+    public NeighborCapabilityCache getNeighborCache() {
+        return neighborCache;
+    }
+
     private void updateBlockOpacity() {
         IBlockState currentState = world.getBlockState(getPos());
         boolean isMetaTileEntityOpaque = metaTileEntity.isOpaqueCube();
@@ -155,12 +169,20 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
     @Override
     public void update() {
         if(metaTileEntity != null) {
-            metaTileEntity.update();
+            metaTileEntity.performScheduledUpdate();
         }
         if(this.needToUpdateLightning) {
             getWorld().checkLight(getPos());
             this.needToUpdateLightning = false;
         }
+        if(this.hasPendingCustomData) {
+            //mark block only once per tick, so all custom data written during tick is sent
+            //by player chunk map as single update packet together with other changes in chunk
+            if(world instanceof WorldServer) {
+                ((WorldServer) world).getPlayerChunkMap().markBlockForUpdate(getPos());
+            }
+            this.hasPendingCustomData = false;
+        }
         //increment only after current tick, so meta tile entities will get first tick as timer == 0
         //and update their settings which depend on getTimer() % N properly
         super.update();
@@ -196,6 +218,21 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
         }
     }
 
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        this.neighborCache.invalidate();
+        if(metaTileEntity != null) {
+            metaTileEntity.onUnload();
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        this.neighborCache.invalidate();
+    }
+
     @Override
     public boolean isValid() {
         return !super.isInvalid() && metaTileEntity != null;
@@ -211,53 +248,104 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IUIH
         markDirty();
     }
 
-    private static class UpdateEntry {
-        private final int discriminator;
-        private final byte[] updateData;
+    public void writeCustomData(int discriminator, Consumer<PacketBuffer> dataWriter) {
+        writeCustomData(discriminator, isStateUpdate(discriminator) ? this : null, discriminator, dataWriter);
+    }
 
-        public UpdateEntry(int discriminator, byte[] updateData) {
-            this.discriminator = discriminator;
-            this.updateData = updateData;
+    /**
+     * Writes custom data entry carrying full value of state identified by given owner and key,
+     * so entries of the same state written earlier and not sent yet are dropped
+     * Owner is compared by identity, null owner means entry is an event and is never dropped
+     */
+    public void writeCustomData(int discriminator, @Nullable Object stateOwner, int stateKey, Consumer<PacketBuffer> dataWriter) {
+        if(discriminator == -1) {
+            //meta tile entity is replaced, so updates written for previous one are useless
+            clearCustomData();
+        } else if(stateOwner != null) {
+            for(int i = 0; i < customDataEntries.size(); i++) {
+                CustomDataEntry dataEntry = customDataEntries.get(i);
+                if(dataEntry.discriminator == discriminator && dataEntry.stateOwner == stateOwner && dataEntry.stateKey == stateKey) {
+                    customDataEntries.remove(i);
+                    this.liveCustomDataBytes -= dataEntry.dataLength;
+                    break;
+                }
+            }
+        }
+        if(customDataBuffer == null) {
+            this.customDataBuffer = Unpooled.buffer();
+        }
+        int dataOffset = customDataBuffer.writerIndex();
+        dataWriter.accept(new PacketBuffer(customDataBuffer));
+        int dataLength = customDataBuffer.writerIndex() - dataOffset;
+        customDataEntries.add(new CustomDataEntry(discriminator, stateOwner, stateKey, dataOffset, dataLength));
+        this.liveCustomDataBytes += dataLength;
+        this.hasPendingCustomData = true;
+        if(customDataBuffer.writerIndex() > MIN_COMPACTED_BUFFER_SIZE + liveCustomDataBytes * 2) {
+            //dropped entries are only reclaimed when update packet is sent,
+            //which can take long time if nobody is watching this block
+            compactCustomData();
         }
     }
 
-    private final List<UpdateEntry> updateEntries = new ArrayList<>();
+    /**
+     * Non-negative discriminators are used by meta tile entities to sync values of their state,
+     * as well as -2 for front facing and -3 for painting color, so only last written value needs to be sent
+     * Other negative discriminators are events like cover placement, which are always sent in order
+     */
+    private static boolean isStateUpdate(int discriminator) {
+        return discriminator >= 0 || discriminator == -2 || discriminator == -3;
+    }
 
-    public void writeCustomData(int discriminator, Consumer<PacketBuffer> dataWriter) {
-        ByteBuf backedBuffer = Unpooled.buffer();
-        dataWriter.accept(new PacketBuffer(backedBuffer));
-        byte[] updateData = Arrays.copyOfRange(backedBuffer.array(), 0, backedBuffer.writerIndex());
-        updateEntries.add(new UpdateEntry(discriminator, updateData));
-        @SuppressWarnings("deprecation")
-        IBlockState blockState = getBlockType().getStateFromMeta(getBlockMetadata());
-        world.notifyBlockUpdate(getPos(), blockState, blockState, 0);
+    private void compactCustomData() {
+        ByteBuf compactedBuffer = Unpooled.buffer(liveCustomDataBytes);
+        for(int i = 0; i < customDataEntries.size(); i++) {
+            CustomDataEntry dataEntry = customDataEntries.get(i);
+            int dataOffset = compactedBuffer.writerIndex();
+            compactedBuffer.writeBytes(customDataBuffer, dataEntry.dataOffset, dataEntry.dataLength);
+            customDataEntries.set(i, new CustomDataEntry(dataEntry.discriminator,
+                dataEntry.stateOwner, dataEntry.stateKey, dataOffset, dataEntry.dataLength));
+        }
+        this.customDataBuffer = compactedBuffer;
+    }
+
+    private void clearCustomData() {
+        customDataEntries.clear();
+        if(customDataBuffer != null) {
+            customDataBuffer.clear();
+        }
+        this.liveCustomDataBytes = 0;
     }
 
+    @Nullable
     @Override
     public SPacketUpdateTileEntity getUpdatePacket() {
-        NBTTagCompound updateTag = new NBTTagCompound();
-        NBTTagList tagList = new NBTTagList();
-        for(UpdateEntry updateEntry : updateEntries) {
-            NBTTagCompound entryTag = new NBTTagCompound();
-            entryTag.setInteger("id", updateEntry.discriminator);
-            entryTag.setByteArray("data", updateEntry.updateData);
-            tagList.appendTag(entryTag);
+        if(customDataEntries.isEmpty()) {
+            return null;
         }
-        updateEntries.clear();
-        updateTag.setTag("data", tagList);
+        ByteBuf backedBuffer = Unpooled.buffer(liveCustomDataBytes + customDataEntries.size() * 4 + 4);
+        PacketBuffer packetBuffer = new PacketBuffer(backedBuffer);
+        packetBuffer.writeVarInt(customDataEntries.size());
+        for(CustomDataEntry dataEntry : customDataEntries) {
+            packetBuffer.writeVarInt(dataEntry.discriminator);
+            packetBuffer.writeVarInt(dataEntry.dataLength);
+            packetBuffer.writeBytes(customDataBuffer, dataEntry.dataOffset, dataEntry.dataLength);
+        }
+        clearCustomData();
+        NBTTagCompound updateTag = new NBTTagCompound();
+        updateTag.setByteArray("d", Arrays.copyOfRange(backedBuffer.array(), 0, backedBuffer.writerIndex()));
         return new SPacketUpdateTileEntity(getPos(), 0, updateTag);
     }
 
     @Override
     public void onDataPacket(NetworkManager net, SPacketUpdateTileEntity pkt) {
-        NBTTagCompound updateTag = pkt.getNbtCompound();
-        NBTTagList tagList = updateTag.getTagList("data", NBT.TAG_COMPOUND);
-        for(int i = 0; i < tagList.tagCount(); i++) {
-            NBTTagCompound entryTag = tagList.getCompoundTagAt(i);
-            int discriminator = entryTag.getInteger("id");
-            byte[] updateData = entryTag.getByteArray("data");
-            ByteBuf backedBuffer = Unpooled.copiedBuffer(updateData);
-            receiveCustomData(discriminator, new PacketBuffer(backedBuffer));
+        byte[] updateData = pkt.getNbtCompound().getByteArray("d");
+        PacketBuffer packetBuffer = new PacketBuffer(Unpooled.wrappedBuffer(updateData));
+        int entriesCount = packetBuffer.readVarInt();
+        for(int i = 0; i < entriesCount; i++) {
+            int discriminator = packetBuffer.readVarInt();
+            int dataLength = packetBuffer.readVarInt();
+            //entry is read from it's own slice, so entries not read completely can't break following ones
+            receiveCustomData(discriminator, new PacketBuffer(packetBuffer.readSlice(dataLength)));
         }
     }
 
@@ -48,12 +48,15 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity {
     public SimpleMachineMetaTileEntity(ResourceLocation metaTileEntityId, RecipeMap<?> recipeMap, OrientedOverlayRenderer renderer, int tier, boolean hasFrontFacing) {
         super(metaTileEntityId, recipeMap, renderer, tier);
         this.hasFrontFacing = hasFrontFacing;
-        this.chargerInventory = new WatchedItemStackHandler(1) {
+        WatchedItemStackHandler chargerInventory = new WatchedItemStackHandler(1) {
             @Override
             public int getSlotLimit(int slot) {
                 return 1;
             }
         };
+        //charged item is discharged during updates, so wake up when it is inserted
+        chargerInventory.setOnItemChanged(itemStack -> wakeUp());
+        this.chargerInventory = chargerInventory;
     }
 
     @Override
@@ -110,6 +113,18 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity {
         }
     }
 
+    @Override
+    public int getTicksUntilNextUpdate() {
+        if(!chargerInventory.getStackInSlot(0).isEmpty()) {
+            return 1;
+        }
+        if(autoOutputItems || autoOutputFluids) {
+            //auto output happens every 5 ticks
+            return (int) (5 - getTimer() % 5);
+        }
+        return SLEEP_UNTIL_WOKEN;
+    }
+
     //OUTPUT TANKS OVERRIDE MANAGEMENT MECHANISM
 
     public void setOutputOverride(EnumFacing side, int overrideIndex) {
@@ -210,6 +225,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity {
         if(!getWorld().isRemote) {
             writeCustomData(100, buf -> buf.writeByte(outputFacing.getIndex()));
             markDirty();
+            wakeUp();
         }
     }
 
@@ -218,6 +234,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity {
         if(!getWorld().isRemote) {
             writeCustomData(101, buf -> buf.writeBoolean(autoOutputItems));
             markDirty();
+            wakeUp();
         }
     }
 
@@ -226,6 +243,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity {
         if(!getWorld().isRemote) {
             writeCustomData(102, buf -> buf.writeBoolean(autoOutputFluids));
             markDirty();
+            wakeUp();
         }
     }
 
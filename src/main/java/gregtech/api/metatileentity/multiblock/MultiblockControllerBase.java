@@ -4,12 +4,16 @@ import codechicken.lib.render.CCRenderState;
 import codechicken.lib.render.pipeline.ColourMultiplier;
 import codechicken.lib.render.pipeline.IVertexOperation;
 import codechicken.lib.vec.Matrix4;
+import gnu.trove.iterator.TLongIterator;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.metatileentity.MetaTileEntityHolder;
 import gregtech.api.multiblock.BlockPattern;
 import gregtech.api.multiblock.BlockWorldState;
 import gregtech.api.multiblock.IPatternCenterPredicate;
 import gregtech.api.multiblock.PatternMatchContext;
+import gregtech.api.multiblock.StructureSnapshot;
 import gregtech.api.render.ICubeRenderer;
 import gregtech.api.util.GTUtility;
 import net.minecraft.block.Block;
@@ -19,6 +23,7 @@ import net.minecraft.network.PacketBuffer;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
 import org.apache.commons.lang3.ArrayUtils;
 
 import java.util.*;
@@ -27,12 +32,22 @@ import java.util.function.Predicate;
 
 public abstract class MultiblockControllerBase extends MetaTileEntity {
 
+    /**
+     * Interval of full structure checks for unformed multiblocks, done even if no blocks changed
+     * Formation can depend on things not causing block changes, like parts being released by other multiblocks
+     */
+    private static final int UNFORMED_STRUCTURE_CHECK_INTERVAL = 200;
+
     protected BlockPattern structurePattern;
 
     private final Map<MultiblockAbility<Object>, List<Object>> multiblockAbilities = new HashMap<>();
     private final List<IMultiblockPart> multiblockParts = new ArrayList<>();
     private boolean structureFormed;
 
+    private StructureSnapshot structureSnapshot;
+    private final TLongSet changedStructureBlocks = new TLongHashSet();
+    private boolean needsFullStructureCheck = true;
+
     public MultiblockControllerBase(ResourceLocation metaTileEntityId) {
         super(metaTileEntityId);
         reinitializeStructurePattern();
@@ -40,6 +55,8 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
 
     protected void reinitializeStructurePattern() {
         this.structurePattern = createStructurePattern();
+        this.structureSnapshot = structurePattern.createSnapshot();
+        this.needsFullStructureCheck = true;
     }
 
     @Override
@@ -47,7 +64,7 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
         super.update();
         if(!getWorld().isRemote) {
             if(getTimer() % 20 == 0) {
-                checkStructurePattern();
+                validateStructure();
             }
             if(isStructureFormed()) {
                 updateFormedValid();
@@ -138,7 +155,9 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
 
     protected void checkStructurePattern() {
         EnumFacing facing = getFrontFacing().getOpposite();
-        PatternMatchContext context = structurePattern.checkPatternAt(getWorld(), getPos(), facing);
+        MultiblockStructureWatcher.getWatcher(getWorld()).watchStructure(this,
+            structurePattern.getMaxStructureBounds(getPos(), facing));
+        PatternMatchContext context = structurePattern.checkPatternAt(getWorld(), getPos(), facing, structureSnapshot);
         if(context != null && !structureFormed) {
             Set<IMultiblockPart> rawPartsSet = context.get("MultiblockParts", HashSet::new);
             ArrayList<IMultiblockPart> parts = new ArrayList<>(rawPartsSet);
@@ -172,6 +191,41 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
         }
     }
 
+    /**
+     * Called by {@link MultiblockStructureWatcher} when block inside of structure bounds has changed
+     */
+    void onStructureBlockChanged(BlockPos blockPos) {
+        this.changedStructureBlocks.add(blockPos.toLong());
+    }
+
+    /**
+     * Checks structure only if blocks inside of it have changed since last check
+     * Formed structure re-tests only changed blocks covered by it, falling back
+     * to full pattern check if any of them doesn't match the same way anymore
+     */
+    private void validateStructure() {
+        boolean needsFullCheck = needsFullStructureCheck ||
+            (!structureFormed && getTimer() % UNFORMED_STRUCTURE_CHECK_INTERVAL == 0);
+        if(!needsFullCheck && !changedStructureBlocks.isEmpty()) {
+            if(structureFormed) {
+                TLongIterator iterator = changedStructureBlocks.iterator();
+                while(iterator.hasNext()) {
+                    if(!structureSnapshot.isStillMatching(getWorld(), BlockPos.fromLong(iterator.next()))) {
+                        needsFullCheck = true;
+                        break;
+                    }
+                }
+            } else {
+                needsFullCheck = true;
+            }
+        }
+        this.changedStructureBlocks.clear();
+        if(needsFullCheck) {
+            this.needsFullStructureCheck = false;
+            checkStructurePattern();
+        }
+    }
+
     protected void formStructure(PatternMatchContext context) {
     }
 
@@ -186,11 +240,29 @@ public abstract class MultiblockControllerBase extends MetaTileEntity {
     @Override
     public void onRemoval() {
         super.onRemoval();
-        if(!getWorld().isRemote && structureFormed) {
-            this.multiblockParts.forEach(part -> part.removeFromMultiBlock(this));
+        if(!getWorld().isRemote) {
+            MultiblockStructureWatcher.getWatcher(getWorld()).unwatchStructure(this);
+            if(structureFormed) {
+                this.multiblockParts.forEach(part -> part.removeFromMultiBlock(this));
+            }
         }
     }
 
+    @Override
+    public void onUnload() {
+        super.onUnload();
+        if(!getWorld().isRemote) {
+            MultiblockStructureWatcher.getWatcher(getWorld()).unwatchStructure(this);
+        }
+    }
+
+    @Override
+    public void setFrontFacing(EnumFacing frontFacing) {
+        super.setFrontFacing(frontFacing);
+        //facing changes don't cause block updates, but rotate whole structure
+        this.needsFullStructureCheck = true;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> List<T> getAbilities(MultiblockAbility<T> ability) {
         @SuppressWarnings("SuspiciousMethodCalls")
@@ -0,0 +1,150 @@
+package gregtech.api.metatileentity.multiblock;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listens for block changes in server world and notifies multiblock controllers
+ * whose structure bounds contain changed block, so they don't need to check their structure periodically
+ * Controllers are indexed by chunks their bounds intersect with
+ */
+public class MultiblockStructureWatcher implements IWorldEventListener {
+
+    private static final Map<World, MultiblockStructureWatcher> WORLD_WATCHERS = new IdentityHashMap<>();
+
+    private final TLongObjectMap<List<MultiblockControllerBase>> controllersByChunk = new TLongObjectHashMap<>();
+    private final Map<MultiblockControllerBase, StructureBoundingBox> watchedBounds = new IdentityHashMap<>();
+
+    public static MultiblockStructureWatcher getWatcher(World world) {
+        MultiblockStructureWatcher watcher = WORLD_WATCHERS.get(world);
+        if(watcher == null) {
+            watcher = new MultiblockStructureWatcher();
+            world.addEventListener(watcher);
+            WORLD_WATCHERS.put(world, watcher);
+        }
+        return watcher;
+    }
+
+    public static void onWorldUnload(World world) {
+        MultiblockStructureWatcher watcher = WORLD_WATCHERS.remove(world);
+        if(watcher != null) {
+            world.removeEventListener(watcher);
+        }
+    }
+
+    /**
+     * Starts watching given bounds for given controller, replacing previously watched bounds
+     */
+    public void watchStructure(MultiblockControllerBase controller, StructureBoundingBox bounds) {
+        StructureBoundingBox oldBounds = watchedBounds.get(controller);
+        if(oldBounds != null) {
+            if(isSameBounds(oldBounds, bounds)) return;
+            unwatchStructure(controller);
+        }
+        watchedBounds.put(controller, bounds);
+        for(int chunkX = bounds.minX >> 4; chunkX <= bounds.maxX >> 4; chunkX++) {
+            for(int chunkZ = bounds.minZ >> 4; chunkZ <= bounds.maxZ >> 4; chunkZ++) {
+                long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                List<MultiblockControllerBase> controllers = controllersByChunk.get(chunkKey);
+                if(controllers == null) {
+                    controllers = new ArrayList<>(2);
+                    controllersByChunk.put(chunkKey, controllers);
+                }
+                controllers.add(controller);
+            }
+        }
+    }
+
+    public void unwatchStructure(MultiblockControllerBase controller) {
+        StructureBoundingBox bounds = watchedBounds.remove(controller);
+        if(bounds == null) return;
+        for(int chunkX = bounds.minX >> 4; chunkX <= bounds.maxX >> 4; chunkX++) {
+            for(int chunkZ = bounds.minZ >> 4; chunkZ <= bounds.maxZ >> 4; chunkZ++) {
+                long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                List<MultiblockControllerBase> controllers = controllersByChunk.get(chunkKey);
+                if(controllers == null) continue;
+                controllers.remove(controller);
+                if(controllers.isEmpty()) {
+                    controllersByChunk.remove(chunkKey);
+                }
+            }
+        }
+    }
+
+    private static boolean isSameBounds(StructureBoundingBox first, StructureBoundingBox second) {
+        return first.minX == second.minX && first.minY == second.minY && first.minZ == second.minZ &&
+            first.maxX == second.maxX && first.maxY == second.maxY && first.maxZ == second.maxZ;
+    }
+
+    @Override
+    public void notifyBlockUpdate(World worldIn, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+        List<MultiblockControllerBase> controllers = controllersByChunk.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if(controllers == null) return;
+        for(int i = 0; i < controllers.size(); i++) {
+            MultiblockControllerBase controller = controllers.get(i);
+            if(watchedBounds.get(controller).isVecInside(pos)) {
+                controller.onStructureBlockChanged(pos);
+            }
+        }
+    }
+
+    @Override
+    public void notifyLightSet(BlockPos pos) {
+    }
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+    }
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch) {
+    }
+
+    @Override
+    public void playRecord(SoundEvent soundIn, BlockPos pos) {
+    }
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+    }
+
+    @Override
+    public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+    }
+
+    @Override
+    public void onEntityAdded(Entity entityIn) {
+    }
+
+    @Override
+    public void onEntityRemoved(Entity entityIn) {
+    }
+
+    @Override
+    public void broadcastSound(int soundID, BlockPos pos, int data) {
+    }
+
+    @Override
+    public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data) {
+    }
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+    }
+}
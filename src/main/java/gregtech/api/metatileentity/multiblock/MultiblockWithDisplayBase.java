@@ -14,6 +14,9 @@ import java.util.List;
 
 public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase {
 
+    //display text is rebuilt on every sync, and a few ticks of delay are not noticeable
+    private static final int DISPLAY_TEXT_SYNC_INTERVAL = 5;
+
     public MultiblockWithDisplayBase(ResourceLocation metaTileEntityId) {
         super(metaTileEntityId);
     }
@@ -35,7 +38,8 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
         builder.image(7, 4, 162, 121, GuiTextures.DISPLAY);
         builder.label(10, 7, getMetaFullName(), 0xFFFFFF);
         builder.widget(new AdvancedTextWidget(10, 17, this::addDisplayText, 0xFFFFFF)
-            .setMaxWidthLimit(156));
+            .setMaxWidthLimit(156)
+            .setSyncInterval(DISPLAY_TEXT_SYNC_INTERVAL));
         builder.bindPlayerInventory(entityPlayer.inventory, 134);
         return builder;
     }
@@ -79,6 +79,7 @@ public abstract class RecipeMapMultiblockController extends MultiblockWithDispla
     protected void formStructure(PatternMatchContext context) {
         super.formStructure(context);
         initializeAbilities();
+        this.recipeMapWorkable.invalidateRecipeSearchCache();
     }
 
     @Override
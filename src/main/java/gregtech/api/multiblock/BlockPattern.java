@@ -5,9 +5,11 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
+import javax.annotation.Nullable;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -78,7 +80,41 @@ public class BlockPattern {
         return this.palmLength;
     }
 
+    public StructureSnapshot createSnapshot() {
+        return new StructureSnapshot(countMatches);
+    }
+
+    /**
+     * @return bounding box containing all positions this pattern can cover when centered at given position,
+     *         taking maximum aisle repetitions into account, expanded by one block on each side,
+     *         since predicates can read states of blocks adjacent to positions they are tested at
+     */
+    public StructureBoundingBox getMaxStructureBounds(BlockPos centerPos, EnumFacing facing) {
+        int maxAisles = 0;
+        for(int[] aisleRepetition : aisleRepetitions) {
+            maxAisles += aisleRepetition[1];
+        }
+        MutableBlockPos minCorner = setActualRelativeOffset(new MutableBlockPos(),
+            -centerOffset[0], -centerOffset[1], -centerOffset[4], facing);
+        MutableBlockPos maxCorner = setActualRelativeOffset(new MutableBlockPos(),
+            palmLength - 1 - centerOffset[0], thumbLength - 1 - centerOffset[1], maxAisles - 1 - centerOffset[3], facing);
+        StructureBoundingBox boundingBox = new StructureBoundingBox(minCorner.add(centerPos), maxCorner.add(centerPos));
+        return new StructureBoundingBox(boundingBox.minX - 1, boundingBox.minY - 1, boundingBox.minZ - 1,
+            boundingBox.maxX + 1, boundingBox.maxY + 1, boundingBox.maxZ + 1);
+    }
+
     public PatternMatchContext checkPatternAt(World world, BlockPos centerPos, EnumFacing facing) {
+        return checkPatternAt(world, centerPos, facing, null);
+    }
+
+    /**
+     * Checks pattern at given position, additionally recording positions of matched structure
+     * into given snapshot, if it is not null. Snapshot contents are valid only if check succeeds
+     */
+    public PatternMatchContext checkPatternAt(World world, BlockPos centerPos, EnumFacing facing, @Nullable StructureSnapshot snapshot) {
+        if(snapshot != null) {
+            snapshot.clear();
+        }
         BlockWorldState worldState = new BlockWorldState();
         MutableBlockPos blockPos = new MutableBlockPos();
         PatternMatchContext matchContext = new PatternMatchContext();
@@ -96,12 +132,18 @@ public class BlockPattern {
 
                         worldState.update(world, blockPos, matchContext);
                         if (!predicate.test(worldState)) {
+                            if (snapshot != null) {
+                                snapshot.discardSlice();
+                            }
                             if (findFirstAisle) {
                                 if (r < aisleRepetitions[c][0]) {//retreat to see if the first aisle can start later
                                     r = c = 0;
                                     z = minZ++;
                                     matchContext.reset();
                                     findFirstAisle = false;
+                                    if (snapshot != null) {
+                                        snapshot.clear();
+                                    }
                                 }
                             } else {
                                 z++;//continue searching for the first aisle
@@ -114,8 +156,14 @@ public class BlockPattern {
                                 countMatchesCache[i]++;
                             }
                         }
+                        if (snapshot != null) {
+                            snapshot.addPosition(worldState, predicate);
+                        }
                     }
                 }
+                if (snapshot != null) {
+                    snapshot.commitSlice();
+                }
                 findFirstAisle = true;
                 z++;
             }
@@ -130,6 +178,9 @@ public class BlockPattern {
                 return null; //count matches didn't match
             }
         }
+        if(snapshot != null) {
+            snapshot.setMatchContext(matchContext);
+        }
         return matchContext;
     }
 
@@ -18,6 +18,8 @@ public class BlockWorldState {
     private TileEntity tileEntity;
     private boolean tileEntityInitialized;
     private PatternMatchContext matchContext;
+    //true if states of adjacent blocks were requested since last update
+    private boolean readsNeighbors;
 
     public static IPatternCenterPredicate wrap(Predicate<BlockWorldState> predicate) {
         return predicate::test;
@@ -30,6 +32,7 @@ public class BlockWorldState {
         this.tileEntity = null;
         this.tileEntityInitialized = false;
         this.matchContext = matchContext;
+        this.readsNeighbors = false;
     }
 
     public PatternMatchContext getMatchContext() {
@@ -59,6 +62,7 @@ public class BlockWorldState {
     }
 
     public IBlockState getOffsetState(EnumFacing face) {
+        this.readsNeighbors = true;
         if(pos instanceof MutableBlockPos) {
             ((MutableBlockPos) pos).move(face);
             IBlockState blockState = world.getBlockState(pos);
@@ -68,6 +72,14 @@ public class BlockWorldState {
         return world.getBlockState(this.pos.offset(face));
     }
 
+    /**
+     * @return true if predicates tested against this state since last update have read states of adjacent blocks,
+     *         so their results depend on blocks not covered by pattern
+     */
+    boolean readsNeighbors() {
+        return readsNeighbors;
+    }
+
     public World getWorld() {
         return world;
     }
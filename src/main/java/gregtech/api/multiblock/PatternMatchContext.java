@@ -11,6 +11,22 @@ public class PatternMatchContext {
 
     private HashMap<String, Object> data = new HashMap<>();
 
+    /**
+     * @return new context containing the same data as this one
+     */
+    public PatternMatchContext copy() {
+        PatternMatchContext matchContext = new PatternMatchContext();
+        matchContext.data.putAll(data);
+        return matchContext;
+    }
+
+    /**
+     * @return true if given context contains exactly the same data as this one
+     */
+    public boolean hasSameData(PatternMatchContext other) {
+        return data.equals(other.data);
+    }
+
     public void reset() {
         this.data.clear();
     }
@@ -0,0 +1,159 @@
+package gregtech.api.multiblock;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import gregtech.api.util.IntRange;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Remembers block positions covered by matched block pattern together with predicates
+ * they were matched against, so structure can be re-validated by testing only changed positions
+ * Filled by {@link BlockPattern#checkPatternAt(World, BlockPos, net.minecraft.util.EnumFacing, StructureSnapshot)},
+ * and valid only if pattern check has succeeded
+ */
+public class StructureSnapshot {
+
+    //bits 0-30 of match flags are used for count matches, highest bit is set for blocks with tile entities
+    private static final int MAX_COUNT_MATCHES = 31;
+    private static final int HAS_TILE_ENTITY = 1 << 31;
+
+    private final List<Pair<Predicate<BlockWorldState>, IntRange>> countMatches;
+    private final TLongObjectMap<Predicate<BlockWorldState>> predicates = new TLongObjectHashMap<>();
+    private final TLongIntMap matchFlags = new TLongIntHashMap();
+    //positions which predicates have read states of adjacent blocks
+    private final TLongSet neighborReadingPositions = new TLongHashSet();
+
+    //positions of currently checked aisle slice, added only after whole slice matches
+    private final TLongArrayList slicePositions = new TLongArrayList();
+    private final List<Predicate<BlockWorldState>> slicePredicates = new ArrayList<>();
+    private final TIntArrayList sliceMatchFlags = new TIntArrayList();
+    private final TLongArrayList sliceNeighborReadingPositions = new TLongArrayList();
+
+    //context of the last successful pattern check, predicates can depend on data other blocks stored in it
+    private PatternMatchContext matchContext = new PatternMatchContext();
+
+    StructureSnapshot(List<Pair<Predicate<BlockWorldState>, IntRange>> countMatches) {
+        this.countMatches = countMatches;
+    }
+
+    void addPosition(BlockWorldState worldState, Predicate<BlockWorldState> predicate) {
+        slicePositions.add(worldState.getPos().toLong());
+        slicePredicates.add(predicate);
+        sliceMatchFlags.add(computeMatchFlags(worldState));
+        if(worldState.readsNeighbors()) {
+            sliceNeighborReadingPositions.add(worldState.getPos().toLong());
+        }
+    }
+
+    void commitSlice() {
+        for(int i = 0; i < slicePositions.size(); i++) {
+            predicates.put(slicePositions.get(i), slicePredicates.get(i));
+            matchFlags.put(slicePositions.get(i), sliceMatchFlags.get(i));
+        }
+        neighborReadingPositions.addAll(sliceNeighborReadingPositions);
+        discardSlice();
+    }
+
+    void discardSlice() {
+        slicePositions.resetQuick();
+        slicePredicates.clear();
+        sliceMatchFlags.resetQuick();
+        sliceNeighborReadingPositions.resetQuick();
+    }
+
+    void setMatchContext(PatternMatchContext matchContext) {
+        this.matchContext = matchContext.copy();
+    }
+
+    void clear() {
+        discardSlice();
+        predicates.clear();
+        matchFlags.clear();
+        neighborReadingPositions.clear();
+        this.matchContext = new PatternMatchContext();
+    }
+
+    public int getSize() {
+        return predicates.size();
+    }
+
+    public boolean containsPosition(long packedPos) {
+        return predicates.containsKey(packedPos);
+    }
+
+    /**
+     * Re-tests block at given position against predicate it was matched with during pattern check
+     * Blocks with tile entities can be multiblock parts, which are collected during full check only,
+     * so any change of them always requires full check
+     * Block is tested against copy of the last check context, and if predicates store
+     * anything new into it, structure data derived from it can change, so full check is required too
+     * Changes of blocks adjacent to positions which predicates read adjacent block states
+     * always require full check, since they can change results of these predicates
+     * @return true if block still matches the same way, or position isn't covered by structure;
+     *         false if full pattern check is required
+     */
+    public boolean isStillMatching(World world, BlockPos blockPos) {
+        if(isAdjacentToNeighborReadingPosition(blockPos)) {
+            return false;
+        }
+        long packedPos = blockPos.toLong();
+        Predicate<BlockWorldState> predicate = predicates.get(packedPos);
+        if(predicate == null) {
+            return true;
+        }
+        if(countMatches.size() > MAX_COUNT_MATCHES) {
+            return false;
+        }
+        PatternMatchContext testContext = matchContext.copy();
+        BlockWorldState worldState = new BlockWorldState();
+        worldState.update(world, blockPos, testContext);
+        int lastMatchFlags = matchFlags.get(packedPos);
+        IBlockState blockState = worldState.getBlockState();
+        if((lastMatchFlags & HAS_TILE_ENTITY) != 0 || blockState.getBlock().hasTileEntity(blockState)) {
+            return false;
+        }
+        //count matches should stay the same too, otherwise total counts could go out of their ranges
+        return predicate.test(worldState) && computeMatchFlags(worldState) == lastMatchFlags &&
+            testContext.hasSameData(matchContext);
+    }
+
+    private boolean isAdjacentToNeighborReadingPosition(BlockPos blockPos) {
+        if(neighborReadingPositions.isEmpty()) {
+            return false;
+        }
+        for(EnumFacing facing : EnumFacing.VALUES) {
+            if(neighborReadingPositions.contains(blockPos.offset(facing).toLong())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int computeMatchFlags(BlockWorldState worldState) {
+        int resultFlags = 0;
+        for(int i = 0; i < countMatches.size() && i < MAX_COUNT_MATCHES; i++) {
+            if(countMatches.get(i).getLeft().test(worldState)) {
+                resultFlags |= 1 << i;
+            }
+        }
+        IBlockState blockState = worldState.getBlockState();
+        if(blockState.getBlock().hasTileEntity(blockState)) {
+            resultFlags |= HAS_TILE_ENTITY;
+        }
+        return resultFlags;
+    }
+}
@@ -162,6 +162,31 @@ public class NetworkHandler {
             }
         ));
 
+        registerPacket(4, PacketUIWidgetUpdateBatch.class, new PacketCodec<>(
+            (packet, buf) -> {
+                buf.writeVarInt(packet.windowId);
+                buf.writeVarInt(packet.widgetUpdates.size());
+                for(PacketUIWidgetUpdate widgetUpdate : packet.widgetUpdates) {
+                    buf.writeVarInt(widgetUpdate.widgetId);
+                    buf.writeVarInt(widgetUpdate.updateData.readableBytes());
+                    buf.writeBytes(widgetUpdate.updateData);
+                }
+            },
+            (buf) -> {
+                int windowId = buf.readVarInt();
+                int widgetUpdatesCount = buf.readVarInt();
+                ArrayList<PacketUIWidgetUpdate> widgetUpdates = new ArrayList<>(widgetUpdatesCount);
+                for(int i = 0; i < widgetUpdatesCount; i++) {
+                    int widgetId = buf.readVarInt();
+                    ByteBuf directSliceBuffer = buf.readBytes(buf.readVarInt());
+                    ByteBuf copiedDataBuffer = Unpooled.copiedBuffer(directSliceBuffer);
+                    directSliceBuffer.release();
+                    widgetUpdates.add(new PacketUIWidgetUpdate(windowId, widgetId, new PacketBuffer(copiedDataBuffer)));
+                }
+                return new PacketUIWidgetUpdateBatch(windowId, widgetUpdates);
+            }
+        ));
+
         registerServerExecutor(PacketUIClientAction.class, (packet, handler) -> {
             Container openContainer = handler.player.openContainer;
             if(openContainer instanceof ModularUIContainer &&
@@ -190,6 +215,8 @@ public class NetworkHandler {
         });
         registerClientExecutor(PacketUIWidgetUpdate.class, (packet, handler) ->
             ModularUIGui.addWidgetUpdate(packet));
+        registerClientExecutor(PacketUIWidgetUpdateBatch.class, (packet, handler) ->
+            ModularUIGui.addWidgetUpdates(packet.widgetUpdates));
     }
 
     public static <T extends Packet> void registerPacket(int packetId, Class<T> packetClass, PacketCodec<T> codec) {
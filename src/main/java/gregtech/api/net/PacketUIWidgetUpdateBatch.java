@@ -0,0 +1,19 @@
+package gregtech.api.net;
+
+import java.util.List;
+
+/**
+ * Widget updates of the same window collected during one tick,
+ * sent together to avoid sending separate packet for every update
+ */
+public class PacketUIWidgetUpdateBatch implements NetworkHandler.Packet {
+
+    public final int windowId;
+    public final List<PacketUIWidgetUpdate> widgetUpdates;
+
+    public PacketUIWidgetUpdateBatch(int windowId, List<PacketUIWidgetUpdate> widgetUpdates) {
+        this.windowId = windowId;
+        this.widgetUpdates = widgetUpdates;
+    }
+
+}
@@ -1,10 +1,10 @@
 package gregtech.api.pipenet;
 
+import gnu.trove.iterator.TLongLongIterator;
+import gnu.trove.map.TLongLongMap;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.math.BlockPos;
 
-import java.util.Map;
-
 /**
  * Represents a pipe net where all nodes have same type
  * and cannot connect when their types are not equal
@@ -15,7 +15,7 @@ public abstract class MonolithicPipeNet<NodeDataType> extends PipeNet<NodeDataTy
 
     /**
      * Represents type of nodes in this network
-     * all nodes are guaranteed to have this type and node.data.equals(nodeData)
+     * all nodes are guaranteed to have this type, so it is the only entry in node data palette
      * note that it is null until first node is added to this network
      */
     protected NodeDataType nodeData;
@@ -29,19 +29,21 @@ public abstract class MonolithicPipeNet<NodeDataType> extends PipeNet<NodeDataTy
     }
 
     @Override
-    protected void addNode(BlockPos nodePos, Node<NodeDataType> node) {
-        if(nodeData == null) {
-            this.nodeData = node.data;
-        } else if(!nodeData.equals(node.data)) {
+    protected void addNode(BlockPos nodePos, NodeDataType nodeData, int mark, int blockedConnections, boolean isActive) {
+        if(this.nodeData == null) {
+            this.nodeData = nodeData;
+        } else if(!this.nodeData.equals(nodeData)) {
             throw new IllegalArgumentException("Attempted to add node with different type to monolithic net!");
         }
-        super.addNode(nodePos, node);
+        super.addNode(nodePos, nodeData, mark, blockedConnections, isActive);
     }
 
     @Override
-    protected void transferNodeData(Map<BlockPos, Node<NodeDataType>> transferredNodes, PipeNet<NodeDataType> parentNet) {
+    protected void transferNodeData(TLongLongMap transferredNodes, PipeNet<NodeDataType> parentNet) {
         if(nodeData == null && !transferredNodes.isEmpty()) {
-            this.nodeData = transferredNodes.values().iterator().next().data;
+            //parent net is monolithic too, so it's nodes have exactly same type
+            //noinspection unchecked
+            this.nodeData = ((MonolithicPipeNet<NodeDataType>) parentNet).nodeData;
         }
         super.transferNodeData(transferredNodes, parentNet);
     }
@@ -50,7 +52,9 @@ public abstract class MonolithicPipeNet<NodeDataType> extends PipeNet<NodeDataTy
     public void deserializeNBT(NBTTagCompound nbt) {
         super.deserializeNBT(nbt);
         //since net cannot exist in world without at least one node
-        this.nodeData = allNodes.values().iterator().next().data;
+        TLongLongIterator iterator = allNodes.iterator();
+        iterator.advance();
+        this.nodeData = getNodeDataFromState(iterator.value());
     }
 
     @Override
@@ -3,10 +3,14 @@ package gregtech.api.pipenet;
 /**
  * Represents a single node in network of pipes
  * It can have blocked connections and be active or not
+ * @deprecated nodes are stored as packed states now, see {@link NodeState}
+ *             instances are only created as snapshots by {@link PipeNet#getAllNodes()},
+ *             so changing their fields has no effect on the net
  */
+@Deprecated
 public final class Node<NodeDataType> {
 
-    public static final int DEFAULT_MARK = 0;
+    public static final int DEFAULT_MARK = NodeState.DEFAULT_MARK;
 
     public final NodeDataType data;
     /**
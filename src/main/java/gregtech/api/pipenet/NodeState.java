@@ -0,0 +1,93 @@
+package gregtech.api.pipenet;
+
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+
+/**
+ * Helper for working with packed states of pipe net nodes
+ * Node state is stored as single long value with following layout:
+ *  bits 0-31 contain node mark
+ *  bits 32-37 contain bitmask of blocked connections
+ *  bit 38 is set if node is active
+ *  bits 40-62 contain index of node data in net's node data palette
+ * Valid node state is never negative, so {@link #NO_NODE} is used as a missing value
+ */
+public final class NodeState {
+
+    /**
+     * Nodes can connect only if their marks are equal, or if
+     * one of marks is default one
+     */
+    public static final int DEFAULT_MARK = 0;
+
+    /**
+     * Value returned by node maps for positions without node
+     */
+    public static final long NO_NODE = -1L;
+
+    public static final int MAX_DATA_INDEX = (1 << 23) - 1;
+
+    private static final int BLOCKED_CONNECTIONS_SHIFT = 32;
+    private static final long BLOCKED_CONNECTIONS_MASK = 0x3FL << BLOCKED_CONNECTIONS_SHIFT;
+    private static final long ACTIVE_FLAG = 1L << 38;
+    private static final int DATA_INDEX_SHIFT = 40;
+    private static final long DATA_INDEX_MASK = (long) MAX_DATA_INDEX << DATA_INDEX_SHIFT;
+
+    private NodeState() {
+    }
+
+    /**
+     * @return new map of packed node positions to packed node states, returning {@link #NO_NODE} for missing nodes
+     */
+    public static TLongLongMap createNodeMap() {
+        return createNodeMap(16);
+    }
+
+    public static TLongLongMap createNodeMap(int expectedSize) {
+        return new TLongLongHashMap(expectedSize, 0.5f, 0L, NO_NODE);
+    }
+
+    public static long pack(int dataIndex, int mark, int blockedConnections, boolean isActive) {
+        long nodeState = (mark & 0xFFFFFFFFL) |
+            ((long) blockedConnections << BLOCKED_CONNECTIONS_SHIFT & BLOCKED_CONNECTIONS_MASK) |
+            ((long) dataIndex << DATA_INDEX_SHIFT & DATA_INDEX_MASK);
+        return isActive ? nodeState | ACTIVE_FLAG : nodeState;
+    }
+
+    public static int getMark(long nodeState) {
+        return (int) nodeState;
+    }
+
+    public static int getBlockedConnections(long nodeState) {
+        return (int) ((nodeState & BLOCKED_CONNECTIONS_MASK) >>> BLOCKED_CONNECTIONS_SHIFT);
+    }
+
+    public static boolean isBlocked(long nodeState, int facingIndex) {
+        return (nodeState & 1L << (BLOCKED_CONNECTIONS_SHIFT + facingIndex)) != 0;
+    }
+
+    public static boolean isActive(long nodeState) {
+        return (nodeState & ACTIVE_FLAG) != 0;
+    }
+
+    public static int getDataIndex(long nodeState) {
+        return (int) ((nodeState & DATA_INDEX_MASK) >>> DATA_INDEX_SHIFT);
+    }
+
+    public static long withMark(long nodeState, int mark) {
+        return (nodeState & ~0xFFFFFFFFL) | (mark & 0xFFFFFFFFL);
+    }
+
+    public static long withBlocked(long nodeState, int facingIndex, boolean isBlocked) {
+        long facingFlag = 1L << (BLOCKED_CONNECTIONS_SHIFT + facingIndex);
+        return isBlocked ? nodeState | facingFlag : nodeState & ~facingFlag;
+    }
+
+    public static long withActive(long nodeState, boolean isActive) {
+        return isActive ? nodeState | ACTIVE_FLAG : nodeState & ~ACTIVE_FLAG;
+    }
+
+    public static long withDataIndex(long nodeState, int dataIndex) {
+        return (nodeState & ~DATA_INDEX_MASK) | ((long) dataIndex << DATA_INDEX_SHIFT & DATA_INDEX_MASK);
+    }
+}
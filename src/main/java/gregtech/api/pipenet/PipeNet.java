@@ -1,8 +1,10 @@
 package gregtech.api.pipenet;
 
-import gnu.trove.map.TIntObjectMap;
+import gnu.trove.iterator.TLongLongIterator;
+import gnu.trove.map.TIntIntMap;
+import gnu.trove.map.TLongLongMap;
 import gnu.trove.map.TObjectIntMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TIntIntHashMap;
 import gnu.trove.map.hash.TObjectIntHashMap;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -13,13 +15,40 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.common.util.INBTSerializable;
 
-import java.util.*;
-import java.util.Map.Entry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
 
 public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCompound> {
 
+    /**
+     * Version of node list format written by {@link #serializeAllNodeList(TLongLongMap)}
+     * Nets saved without version have one compound tag per node
+     */
+    private static final int NODE_LIST_FORMAT_VERSION = 1;
+    private static final int FLAG_ACTIVE = 1 << 6;
+    private static final int FLAG_DATA_INDEX_SHIFT = 8;
+
     protected final WorldPipeNet<NodeDataType, PipeNet<NodeDataType>> worldData;
-    protected Map<BlockPos, Node<NodeDataType>> allNodes = new HashMap<>();
+    /**
+     * Packed states of all nodes of this net, keyed by packed node position
+     * See {@link NodeState} for layout of node state
+     */
+    protected TLongLongMap allNodes = NodeState.createNodeMap();
+    /**
+     * Distinct node data of this net, referenced by index from node states
+     * Entries are kept until net is reloaded, since amount of distinct node types in net is small
+     */
+    private final List<NodeDataType> nodeDataPalette = new ArrayList<>();
+    private final TObjectIntMap<NodeDataType> nodeDataIndexes = new TObjectIntHashMap<>(10, 0.5f, -1);
+    /**
+     * Node list of this net as it was written or read last time
+     * null if nodes have changed since then, so it needs to be serialized again
+     */
+    private NBTTagCompound serializedNodes;
     private long lastUpdate;
     protected boolean isValid;
 
@@ -28,8 +57,32 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         this.worldData = (WorldPipeNet<NodeDataType, PipeNet<NodeDataType>>) world;
     }
 
+    public int getNodeCount() {
+        return allNodes.size();
+    }
+
+    /**
+     * @return packed positions of all nodes in this net
+     */
+    public long[] getAllNodePositions() {
+        return allNodes.keys();
+    }
+
+    /**
+     * @return snapshot of all nodes in this net, built from packed node states
+     * @deprecated use {@link #getAllNodePositions()} and node state accessors instead,
+     *             returned nodes are copies, so changing them has no effect on the net
+     */
+    @Deprecated
     public Map<BlockPos, Node<NodeDataType>> getAllNodes() {
-        return Collections.unmodifiableMap(allNodes);
+        Map<BlockPos, Node<NodeDataType>> result = new HashMap<>(allNodes.size());
+        for(TLongLongIterator iterator = allNodes.iterator(); iterator.hasNext();) {
+            iterator.advance();
+            long nodeState = iterator.value();
+            result.put(BlockPos.fromLong(iterator.key()), new Node<>(getNodeDataFromState(nodeState),
+                NodeState.getBlockedConnections(nodeState), NodeState.getMark(nodeState), NodeState.isActive(nodeState)));
+        }
+        return Collections.unmodifiableMap(result);
     }
 
     public World getWorldData() {
@@ -48,33 +101,85 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         this.lastUpdate = System.currentTimeMillis();
     }
 
+    /**
+     * Marks nodes of this net as changed, so they are serialized again on next world save
+     * Nets which weren't changed since last save reuse previously written node list
+     */
+    protected void markDirty() {
+        this.serializedNodes = null;
+        worldData.markDirty();
+    }
+
     public boolean containsNode(BlockPos blockPos) {
-        return allNodes.containsKey(blockPos);
+        return allNodes.containsKey(blockPos.toLong());
     }
 
-    protected void addNode(BlockPos nodePos, Node<NodeDataType> node) {
-        allNodes.put(nodePos, node);
-        worldData.markDirty();
+    public NodeDataType getNodeData(BlockPos nodePos) {
+        return getNodeData(nodePos.toLong());
+    }
+
+    public NodeDataType getNodeData(long nodePos) {
+        long nodeState = allNodes.get(nodePos);
+        return nodeState == NodeState.NO_NODE ? null : getNodeDataFromState(nodeState);
+    }
+
+    public boolean isNodeActive(BlockPos nodePos) {
+        return isNodeActive(nodePos.toLong());
+    }
+
+    public boolean isNodeActive(long nodePos) {
+        long nodeState = allNodes.get(nodePos);
+        return nodeState != NodeState.NO_NODE && NodeState.isActive(nodeState);
+    }
+
+    protected final NodeDataType getNodeDataFromState(long nodeState) {
+        return nodeDataPalette.get(NodeState.getDataIndex(nodeState));
+    }
+
+    /**
+     * @return index of given node data in palette of this net, adding it if it isn't there yet
+     */
+    protected final int getNodeDataIndex(NodeDataType nodeData) {
+        int dataIndex = nodeDataIndexes.get(nodeData);
+        if(dataIndex == -1) {
+            dataIndex = nodeDataPalette.size();
+            if(dataIndex > NodeState.MAX_DATA_INDEX) {
+                throw new IllegalStateException("Attempted to add more than " + NodeState.MAX_DATA_INDEX + " node types to pipe net");
+            }
+            nodeDataPalette.add(nodeData);
+            nodeDataIndexes.put(nodeData, dataIndex);
+        }
+        return dataIndex;
+    }
+
+    protected void addNode(BlockPos nodePos, NodeDataType nodeData, int mark, int blockedConnections, boolean isActive) {
+        long nodeState = NodeState.pack(getNodeDataIndex(nodeData), mark, blockedConnections, isActive);
+        allNodes.put(nodePos.toLong(), nodeState);
+        worldData.onNodeAdded(nodePos.toLong(), this);
+        markDirty();
         onConnectionsUpdate();
     }
 
     protected void removeNode(BlockPos nodePos) {
-        if (allNodes.containsKey(nodePos)) {
-            Node<NodeDataType> selfNode = allNodes.remove(nodePos);
+        long selfNode = allNodes.remove(nodePos.toLong());
+        if (selfNode != NodeState.NO_NODE) {
+            worldData.onNodeRemoved(nodePos.toLong(), this);
             removeNodeInternal(nodePos, selfNode);
-            worldData.markDirty();
+            markDirty();
         }
     }
 
     protected void updateBlockedConnections(BlockPos nodePos, EnumFacing facing, boolean isBlocked) {
-        if(!allNodes.containsKey(nodePos)) {
+        long packedNodePos = nodePos.toLong();
+        long selfNode = allNodes.get(packedNodePos);
+        if(selfNode == NodeState.NO_NODE) {
             return;
         }
-        Node<NodeDataType> selfNode = allNodes.get(nodePos);
-        boolean wasBlocked = (selfNode.blockedConnections & 1 << facing.getIndex()) > 0;
+        boolean wasBlocked = NodeState.isBlocked(selfNode, facing.getIndex());
         if(wasBlocked == isBlocked) {
             return;
         }
+        long updatedSelfNode = NodeState.withBlocked(selfNode, facing.getIndex(), isBlocked);
         BlockPos offsetPos = nodePos.offset(facing);
         //noinspection unchecked
         PipeNet<NodeDataType> pipeNetAtOffset = worldData.getNetFromPos(offsetPos);
@@ -82,6 +187,8 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         if (pipeNetAtOffset == null) {
             //if there is no any pipe net at this side,
             //updating blocked status of it won't change anything in any net
+            allNodes.put(packedNodePos, updatedSelfNode);
+            markDirty();
             return;
         }
         //if we are on that side of node too
@@ -89,57 +196,65 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         if (pipeNetAtOffset == this) {
             //if side was unblocked, well, there is really nothing changed in this e-net
             //if it is blocked now, but was able to connect with neighbour node before, try split networks
-            if(isBlocked && canNodesConnect(selfNode, facing, allNodes.get(offsetPos), this)) {
-                setBlocked(selfNode, facing, true); //update current status before querying findAllConnectedBlocks
-                HashMap<BlockPos, Node<NodeDataType>> thisENet = findAllConnectedBlocks(nodePos);
-                if (!allNodes.equals(thisENet)) {
+            if(isBlocked && canNodesConnect(selfNode, facing, allNodes.get(offsetPos.toLong()), this)) {
+                allNodes.put(packedNodePos, updatedSelfNode); //update current status before querying findAllConnectedBlocks
+                TLongLongMap thisENet = findAllConnectedBlocks(nodePos);
+                //connected nodes are always subset of this net, so comparing sizes is enough
+                if (allNodes.size() != thisENet.size()) {
                     //node visibility has changed, split network into 2
                     //node that code below is similar to removeNodeInternal, but only for 2 networks, and without node removal
                     //noinspection unchecked
                     PipeNet<NodeDataType> newPipeNet = worldData.createNetInstance();
+                    allNodes.keySet().removeAll(thisENet.keys());
                     newPipeNet.transferNodeData(thisENet, this);
-                    allNodes.keySet().removeAll(thisENet.keySet());
                     worldData.addPipeNet(newPipeNet);
                 }
             }
         //there is another network on that side
         //if this is an unblock, and we can connect with their node, merge them
         } else if(!isBlocked) {
-            Node<NodeDataType> neighbourNode = pipeNetAtOffset.allNodes.get(offsetPos);
-            //check connection availability from both networks
-            if(canNodesConnect(selfNode, facing, neighbourNode, pipeNetAtOffset) &&
-                pipeNetAtOffset.canNodesConnect(neighbourNode, facing.getOpposite(), selfNode, this)) {
+            long neighbourNode = pipeNetAtOffset.allNodes.get(offsetPos.toLong());
+            //check connection availability from both networks, using already unblocked state of our node
+            if(canNodesConnect(updatedSelfNode, facing, neighbourNode, pipeNetAtOffset) &&
+                pipeNetAtOffset.canNodesConnect(neighbourNode, facing.getOpposite(), updatedSelfNode, this)) {
                 //so, side is unblocked now, and nodes can connect, merge two networks
                 //our network consumes other one
                 uniteNetworks(pipeNetAtOffset);
             }
         }
         //update result block status before updating & marking
-        setBlocked(selfNode, facing, isBlocked);
+        //node could be moved into another net during split, so update it where it is now
+        PipeNet<NodeDataType> selfPipeNet = worldData.getNetFromPos(nodePos);
+        selfPipeNet.allNodes.put(packedNodePos, NodeState.withBlocked(
+            selfPipeNet.allNodes.get(packedNodePos), facing.getIndex(), isBlocked));
+        selfPipeNet.markDirty();
         onConnectionsUpdate();
-        worldData.markDirty();
+        markDirty();
     }
 
     protected void updateMark(BlockPos nodePos, int newMark) {
-        if(!allNodes.containsKey(nodePos)) {
+        long packedNodePos = nodePos.toLong();
+        long selfNode = allNodes.get(packedNodePos);
+        if(selfNode == NodeState.NO_NODE) {
             return;
         }
-        HashMap<BlockPos, Node<NodeDataType>> selfConnectedBlocks = null;
-        Node<NodeDataType> selfNode = allNodes.get(nodePos);
-        int oldMark = selfNode.mark;
-        selfNode.mark = newMark;
+        TLongLongMap selfConnectedBlocks = null;
+        int oldMark = NodeState.getMark(selfNode);
+        selfNode = NodeState.withMark(selfNode, newMark);
+        allNodes.put(packedNodePos, selfNode);
         for (EnumFacing facing : EnumFacing.VALUES) {
             BlockPos offsetPos = nodePos.offset(facing);
             PipeNet<NodeDataType> otherPipeNet = worldData.getNetFromPos(offsetPos);
-            Node<NodeDataType> secondNode = otherPipeNet == null ? null : otherPipeNet.allNodes.get(offsetPos);
-            if(secondNode == null)
+            long secondNode = otherPipeNet == null ? NodeState.NO_NODE : otherPipeNet.allNodes.get(offsetPos.toLong());
+            if(secondNode == NodeState.NO_NODE)
                 continue; //there is noting here
             if(!areNodeBlockedConnectionsCompatible(selfNode, facing, secondNode) ||
-                !areNodesCustomContactable(selfNode.data, secondNode.data, otherPipeNet))
+                !areNodesCustomContactable(getNodeDataFromState(selfNode), otherPipeNet.getNodeDataFromState(secondNode), otherPipeNet))
                 continue; //if connections aren't compatible, skip them
-            if(areMarksCompatible(oldMark, secondNode.mark) == areMarksCompatible(newMark, secondNode.mark))
+            int secondMark = NodeState.getMark(secondNode);
+            if(areMarksCompatible(oldMark, secondMark) == areMarksCompatible(newMark, secondMark))
                 continue; //if compatibility didn't change, skip it
-            if(areMarksCompatible(newMark, secondNode.mark)) {
+            if(areMarksCompatible(newMark, secondMark)) {
                 //if marks are compatible now, and offset network is different network, merge them
                 //if it is same network, just update mask and paths
                 if (otherPipeNet != this) {
@@ -152,15 +267,15 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                 if(selfConnectedBlocks == null) {
                     selfConnectedBlocks = findAllConnectedBlocks(nodePos);
                 }
-                if(allNodes.equals(selfConnectedBlocks)) {
+                if(allNodes.size() == selfConnectedBlocks.size()) {
                     continue; //if this node is still connected to this network, just continue
                 }
                 //otherwise, it is not connected
-                HashMap<BlockPos, Node<NodeDataType>> offsetConnectedBlocks = findAllConnectedBlocks(offsetPos);
+                TLongLongMap offsetConnectedBlocks = findAllConnectedBlocks(offsetPos);
                 //if in the result of remarking offset node has separated from main network,
                 //and it is also separated from current cable too, form new network for it
-                if(!offsetConnectedBlocks.equals(allNodes) && !offsetConnectedBlocks.equals(selfConnectedBlocks)) {
-                    allNodes.keySet().removeAll(offsetConnectedBlocks.keySet());
+                if(offsetConnectedBlocks.size() != allNodes.size() && !offsetConnectedBlocks.containsKey(packedNodePos)) {
+                    allNodes.keySet().removeAll(offsetConnectedBlocks.keys());
                     PipeNet<NodeDataType> offsetPipeNet = worldData.createNetInstance();
                     offsetPipeNet.transferNodeData(offsetConnectedBlocks, this);
                     worldData.addPipeNet(offsetPipeNet);
@@ -168,70 +283,86 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             }
         }
         onConnectionsUpdate();
-        worldData.markDirty();
-    }
-
-    private void setBlocked(Node<NodeDataType> selfNode, EnumFacing facing, boolean isBlocked) {
-        if(isBlocked) {
-            selfNode.blockedConnections |= 1 << facing.getIndex();
-        } else {
-            selfNode.blockedConnections &= ~(1 << facing.getIndex());
-        }
+        markDirty();
     }
 
     public boolean markNodeAsActive(BlockPos nodePos, boolean isActive) {
-        if(allNodes.containsKey(nodePos) && allNodes.get(nodePos).isActive != isActive) {
-            allNodes.get(nodePos).isActive = isActive;
-            worldData.markDirty();
+        long packedNodePos = nodePos.toLong();
+        long nodeState = allNodes.get(packedNodePos);
+        if(nodeState != NodeState.NO_NODE && NodeState.isActive(nodeState) != isActive) {
+            allNodes.put(packedNodePos, NodeState.withActive(nodeState, isActive));
+            markDirty();
             onConnectionsUpdate();
             return true;
         }
         return false;
     }
 
+    /**
+     * Called when block adjacent to the node at given position changes
+     * Can be used to invalidate cached neighbour lookups
+     */
+    public void onNeighbourUpdate(BlockPos nodePos) {
+    }
+
     protected final void uniteNetworks(PipeNet<NodeDataType> energyNet) {
         worldData.removePipeNet(energyNet);
-        //noinspection unchecked
         //this is needed to conform to transferNodeData specification
-        Map<BlockPos, Node<NodeDataType>> allNodes = new HashMap<>(energyNet.allNodes);
-        energyNet.allNodes.clear();
+        TLongLongMap allNodes = energyNet.allNodes;
+        energyNet.allNodes = NodeState.createNodeMap();
         transferNodeData(allNodes, energyNet);
     }
 
-    private boolean areNodeBlockedConnectionsCompatible(Node<NodeDataType> first, EnumFacing firstFacing, Node<NodeDataType> second) {
-        return (first.blockedConnections & 1 << firstFacing.getIndex()) == 0 &&
-            (second.blockedConnections & 1 << firstFacing.getOpposite().getIndex()) == 0;
+    private boolean areNodeBlockedConnectionsCompatible(long first, EnumFacing firstFacing, long second) {
+        return !NodeState.isBlocked(first, firstFacing.getIndex()) &&
+            !NodeState.isBlocked(second, firstFacing.getOpposite().getIndex());
     }
 
     private boolean areMarksCompatible(int mark1, int mark2) {
-        return mark1 == mark2 || mark1 == Node.DEFAULT_MARK || mark2 == Node.DEFAULT_MARK;
+        return mark1 == mark2 || mark1 == NodeState.DEFAULT_MARK || mark2 == NodeState.DEFAULT_MARK;
     }
 
     /**
      * Checks if given nodes can connect
      * Note that this logic should equal with block connection logic
      * for proper work of network
+     * @param first state of the node in this net
+     * @param second state of the node in secondPipeNet
      */
-    protected final boolean canNodesConnect(Node<NodeDataType> first, EnumFacing firstFacing, Node<NodeDataType> second, PipeNet<NodeDataType> secondPipeNet) {
+    protected final boolean canNodesConnect(long first, EnumFacing firstFacing, long second, PipeNet<NodeDataType> secondPipeNet) {
         return areNodeBlockedConnectionsCompatible(first, firstFacing, second) &&
-            areMarksCompatible(first.mark, second.mark) &&
-            areNodesCustomContactable(first.data, second.data, secondPipeNet);
+            areMarksCompatible(NodeState.getMark(first), NodeState.getMark(second)) &&
+            areNodesCustomContactable(getNodeDataFromState(first), secondPipeNet.getNodeDataFromState(second), secondPipeNet);
+    }
+
+    /**
+     * Checks if node which is not yet added to any net can connect
+     * to the node of this net at given position from given side
+     */
+    boolean canConnectNewNode(BlockPos nodePos, EnumFacing facing, NodeDataType nodeData, int mark, int blockedConnections) {
+        long nodeState = allNodes.get(nodePos.toLong());
+        long newNodeState = NodeState.pack(0, mark, blockedConnections, false);
+        return nodeState != NodeState.NO_NODE && canAttachNode(nodeData) &&
+            areNodeBlockedConnectionsCompatible(nodeState, facing, newNodeState) &&
+            areMarksCompatible(NodeState.getMark(nodeState), mark) &&
+            areNodesCustomContactable(getNodeDataFromState(nodeState), nodeData, null);
     }
 
     //we need to search only this network
-    protected HashMap<BlockPos, Node<NodeDataType>> findAllConnectedBlocks(BlockPos startPos) {
-        HashMap<BlockPos, Node<NodeDataType>> observedSet = new HashMap<>();
-        observedSet.put(startPos, allNodes.get(startPos));
-        Node<NodeDataType> firstNode = allNodes.get(startPos);
+    protected TLongLongMap findAllConnectedBlocks(BlockPos startPos) {
+        TLongLongMap observedSet = NodeState.createNodeMap();
+        long firstNode = allNodes.get(startPos.toLong());
+        observedSet.put(startPos.toLong(), firstNode);
         MutableBlockPos currentPos = new MutableBlockPos(startPos);
         Stack<EnumFacing> moveStack = new Stack<>();
         main: while(true) {
             for(EnumFacing facing : EnumFacing.VALUES) {
                 currentPos.move(facing);
-                Node<NodeDataType> secondNode = allNodes.get(currentPos);
+                long packedPos = currentPos.toLong();
+                long secondNode = allNodes.get(packedPos);
                 //if there is node, and it can connect with previous node, add it to list, and set previous node as current
-                if(secondNode != null && canNodesConnect(firstNode, facing, secondNode, this) && !observedSet.containsKey(currentPos)) {
-                    observedSet.put(currentPos.toImmutable(), allNodes.get(currentPos));
+                if(secondNode != NodeState.NO_NODE && !observedSet.containsKey(packedPos) && canNodesConnect(firstNode, facing, secondNode, this)) {
+                    observedSet.put(packedPos, secondNode);
                     firstNode = secondNode;
                     moveStack.push(facing.getOpposite());
                     continue main;
@@ -239,18 +370,18 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             }
             if(!moveStack.isEmpty()) {
                 currentPos.move(moveStack.pop());
-                firstNode = allNodes.get(currentPos);
+                firstNode = allNodes.get(currentPos.toLong());
             } else break;
         }
         return observedSet;
     }
 
     //called when node is removed to rebuild network
-    protected void removeNodeInternal(BlockPos nodePos, Node<NodeDataType> selfNode) {
+    protected void removeNodeInternal(BlockPos nodePos, long selfNode) {
         int amountOfConnectedSides = 0;
         for (EnumFacing facing : EnumFacing.values()) {
             BlockPos offsetPos = nodePos.offset(facing);
-            if (allNodes.containsKey(offsetPos))
+            if (allNodes.containsKey(offsetPos.toLong()))
                 amountOfConnectedSides++;
         }
         //if we are connected only on one side or not connected at all, we don't need to find connected blocks
@@ -259,13 +390,13 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         if (amountOfConnectedSides >= 2) {
             for (EnumFacing facing : EnumFacing.VALUES) {
                 BlockPos offsetPos = nodePos.offset(facing);
-                Node<NodeDataType> secondNode = allNodes.get(offsetPos);
-                if (secondNode == null || !canNodesConnect(selfNode, facing, secondNode, this)) {
+                long secondNode = allNodes.get(offsetPos.toLong());
+                if (secondNode == NodeState.NO_NODE || !canNodesConnect(selfNode, facing, secondNode, this)) {
                     //if there isn't any neighbour node, or it wasn't connected with us, just skip it
                     continue;
                 }
-                HashMap<BlockPos, Node<NodeDataType>> thisENet = findAllConnectedBlocks(offsetPos);
-                if (allNodes.equals(thisENet)) {
+                TLongLongMap thisENet = findAllConnectedBlocks(offsetPos);
+                if (allNodes.size() == thisENet.size()) {
                     //if cable on some direction contains all nodes of this network
                     //the network didn't change so keep it as is
                     break;
@@ -274,7 +405,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                     PipeNet<NodeDataType> energyNet = worldData.createNetInstance();
                     //noinspection unchecked
                     //remove blocks that aren't connected with this network
-                    allNodes.keySet().removeAll(thisENet.keySet());
+                    allNodes.keySet().removeAll(thisENet.keys());
                     energyNet.transferNodeData(thisENet, this);
                     worldData.addPipeNet(energyNet);
                 }
@@ -285,7 +416,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             worldData.removePipeNet(this);
         }
         onConnectionsUpdate();
-        worldData.markDirty();
+        markDirty();
     }
 
     protected boolean areNodesCustomContactable(NodeDataType first, NodeDataType second, PipeNet<NodeDataType> secondNodePipeNet) {
@@ -302,11 +433,17 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
      * For example, for fluid pipes it would remove amount of fluid contained in old nodes
      * from parent network and add it to it's own tank, keeping network contents when old network is split
      * Note that it should be called when parent net doesn't have transferredNodes in allNodes already
+     * @param transferredNodes node states, referencing node data palette of parent net
      */
-    protected void transferNodeData(Map<BlockPos, Node<NodeDataType>> transferredNodes, PipeNet<NodeDataType> parentNet) {
-        this.allNodes.putAll(transferredNodes);
+    protected void transferNodeData(TLongLongMap transferredNodes, PipeNet<NodeDataType> parentNet) {
+        transferredNodes.forEachEntry((nodePos, nodeState) -> {
+            int dataIndex = getNodeDataIndex(parentNet.getNodeDataFromState(nodeState));
+            this.allNodes.put(nodePos, NodeState.withDataIndex(nodeState, dataIndex));
+            worldData.onNodeAdded(nodePos, this);
+            return true;
+        });
         onConnectionsUpdate();
-        worldData.markDirty();
+        markDirty();
     }
 
     /**
@@ -324,26 +461,62 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     @Override
     public NBTTagCompound serializeNBT() {
         NBTTagCompound compound = new NBTTagCompound();
-        compound.setTag("Nodes", serializeAllNodeList(allNodes));
+        if(serializedNodes == null) {
+            this.serializedNodes = serializeAllNodeList(allNodes);
+        }
+        compound.setInteger("FormatVersion", NODE_LIST_FORMAT_VERSION);
+        compound.setTag("Nodes", serializedNodes);
         return compound;
     }
 
     @Override
     public void deserializeNBT(NBTTagCompound nbt) {
-        this.allNodes = deserializeAllNodeList(nbt.getCompoundTag("Nodes"));
+        this.allNodes = NodeState.createNodeMap();
+        this.nodeDataPalette.clear();
+        this.nodeDataIndexes.clear();
+        NBTTagCompound nodesTag = nbt.getCompoundTag("Nodes");
+        if(nbt.getInteger("FormatVersion") < NODE_LIST_FORMAT_VERSION) {
+            deserializeLegacyNodeList(nodesTag);
+            this.serializedNodes = null;
+        } else {
+            deserializeAllNodeList(nodesTag);
+            //nodes weren't changed since they were read, so same tag can be written back
+            this.serializedNodes = nodesTag;
+        }
+    }
+
+    /**
+     * Reads node list written by {@link #serializeAllNodeList(TLongLongMap)} into this net
+     */
+    protected void deserializeAllNodeList(NBTTagCompound compound) {
+        NBTTagList nodeDataList = compound.getTagList("NodeData", NBT.TAG_COMPOUND);
+        int[] dataIndexes = new int[nodeDataList.tagCount()];
+        for(int i = 0; i < dataIndexes.length; i++) {
+            dataIndexes[i] = getNodeDataIndex(readNodeData(nodeDataList.getCompoundTagAt(i)));
+        }
+        int[] positions = compound.getIntArray("Positions");
+        int[] flags = compound.getIntArray("Flags");
+        int[] marks = compound.hasKey("Marks", NBT.TAG_INT_ARRAY) ? compound.getIntArray("Marks") : null;
+        this.allNodes = NodeState.createNodeMap(flags.length);
+        for(int i = 0; i < flags.length; i++) {
+            long nodePos = (long) positions[i * 2] << 32 | (positions[i * 2 + 1] & 0xFFFFFFFFL);
+            int nodeFlags = flags[i];
+            int dataIndex = dataIndexes[nodeFlags >>> FLAG_DATA_INDEX_SHIFT];
+            int mark = marks == null ? NodeState.DEFAULT_MARK : marks[i];
+            allNodes.put(nodePos, NodeState.pack(dataIndex, mark, nodeFlags & 0x3F, (nodeFlags & FLAG_ACTIVE) != 0));
+        }
     }
 
-    protected Map<BlockPos, Node<NodeDataType>> deserializeAllNodeList(NBTTagCompound compound) {
+    private void deserializeLegacyNodeList(NBTTagCompound compound) {
         NBTTagList allNodesList = compound.getTagList("NodeIndexes", NBT.TAG_COMPOUND);
         NBTTagList wirePropertiesList = compound.getTagList("WireProperties", NBT.TAG_COMPOUND);
-        TIntObjectMap<NodeDataType> readProperties = new TIntObjectHashMap<>();
-        HashMap<BlockPos, Node<NodeDataType>> allNodes = new HashMap<>();
+        TIntIntMap readProperties = new TIntIntHashMap();
 
         for(int i = 0; i < wirePropertiesList.tagCount(); i++) {
             NBTTagCompound propertiesTag = wirePropertiesList.getCompoundTagAt(i);
             int wirePropertiesIndex = propertiesTag.getInteger("index");
             NodeDataType nodeData = readNodeData(propertiesTag);
-            readProperties.put(wirePropertiesIndex, nodeData);
+            readProperties.put(wirePropertiesIndex, getNodeDataIndex(nodeData));
         }
 
         for(int i = 0; i < allNodesList.tagCount(); i++) {
@@ -351,61 +524,63 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             int x = nodeTag.getInteger("x");
             int y = nodeTag.getInteger("y");
             int z = nodeTag.getInteger("z");
-            int wirePropertiesIndex = nodeTag.getInteger("index");
-            BlockPos blockPos = new BlockPos(x, y, z);
-            NodeDataType nodeData = readProperties.get(wirePropertiesIndex);
+            int dataIndex = readProperties.get(nodeTag.getInteger("index"));
             int blockedConnections = nodeTag.getInteger("blocked");
             int mark = nodeTag.getInteger("mark");
             boolean isNodeActive = nodeTag.getBoolean("active");
-            allNodes.put(blockPos, new Node<>(nodeData, blockedConnections, mark, isNodeActive));
+            allNodes.put(new BlockPos(x, y, z).toLong(), NodeState.pack(dataIndex, mark, blockedConnections, isNodeActive));
         }
-
-        return allNodes;
     }
 
-    protected NBTTagCompound serializeAllNodeList(Map<BlockPos, Node<NodeDataType>> allNodes) {
+    /**
+     * Writes given nodes of this net as packed arrays: packed positions split into two ints each,
+     * node flags (blocked connections, active flag and node data index), and marks if any node has non-default one
+     * Node data is written once per distinct value, into separate list referenced by index from node flags
+     */
+    protected NBTTagCompound serializeAllNodeList(TLongLongMap allNodes) {
         NBTTagCompound compound = new NBTTagCompound();
-        NBTTagList allNodesList = new NBTTagList();
-        NBTTagList wirePropertiesList = new NBTTagList();
-        TObjectIntMap<NodeDataType> alreadyWritten = new TObjectIntHashMap<>(10, 0.5f, -1);
-        int currentIndex = 0;
-
-        for(Entry<BlockPos, Node<NodeDataType>> entry : allNodes.entrySet()) {
-            BlockPos nodePos = entry.getKey();
-            Node<NodeDataType> node = entry.getValue();
-            NBTTagCompound nodeTag = new NBTTagCompound();
-            nodeTag.setInteger("x", nodePos.getX());
-            nodeTag.setInteger("y", nodePos.getY());
-            nodeTag.setInteger("z", nodePos.getZ());
-            int wirePropertiesIndex = alreadyWritten.get(node.data);
-            if(wirePropertiesIndex == -1) {
-                wirePropertiesIndex = currentIndex;
-                alreadyWritten.put(node.data, wirePropertiesIndex);
-                currentIndex++;
+        int nodeCount = allNodes.size();
+        int[] positions = new int[nodeCount * 2];
+        int[] flags = new int[nodeCount];
+        int[] marks = null;
+        NBTTagList nodeDataList = new NBTTagList();
+        //only node data still used by nodes is written, so palette indexes are remapped
+        TIntIntMap writtenDataIndexes = new TIntIntHashMap(10, 0.5f, -1, -1);
+        TLongLongIterator iterator = allNodes.iterator();
+
+        for(int i = 0; i < nodeCount; i++) {
+            iterator.advance();
+            long nodePos = iterator.key();
+            long nodeState = iterator.value();
+            int dataIndex = NodeState.getDataIndex(nodeState);
+            int writtenDataIndex = writtenDataIndexes.get(dataIndex);
+            if(writtenDataIndex == -1) {
+                writtenDataIndex = nodeDataList.tagCount();
+                NBTTagCompound nodeDataTag = new NBTTagCompound();
+                writeNodeData(nodeDataPalette.get(dataIndex), nodeDataTag);
+                nodeDataList.appendTag(nodeDataTag);
+                writtenDataIndexes.put(dataIndex, writtenDataIndex);
             }
-            nodeTag.setInteger("index", wirePropertiesIndex);
-            if(node.mark != Node.DEFAULT_MARK) {
-                nodeTag.setInteger("mark", node.mark);
-            }
-            if(node.blockedConnections > 0) {
-                nodeTag.setInteger("blocked", node.blockedConnections);
-            }
-            if(node.isActive) {
-                nodeTag.setBoolean("active", true);
+            positions[i * 2] = (int) (nodePos >>> 32);
+            positions[i * 2 + 1] = (int) nodePos;
+            flags[i] = NodeState.getBlockedConnections(nodeState) |
+                (NodeState.isActive(nodeState) ? FLAG_ACTIVE : 0) |
+                writtenDataIndex << FLAG_DATA_INDEX_SHIFT;
+            int mark = NodeState.getMark(nodeState);
+            if(mark != NodeState.DEFAULT_MARK) {
+                if(marks == null) {
+                    marks = new int[nodeCount];
+                }
+                marks[i] = mark;
             }
-            allNodesList.appendTag(nodeTag);
         }
 
-        for(NodeDataType nodeData : alreadyWritten.keySet()) {
-            int wirePropertiesIndex = alreadyWritten.get(nodeData);
-            NBTTagCompound propertiesTag = new NBTTagCompound();
-            propertiesTag.setInteger("index", wirePropertiesIndex);
-            writeNodeData(nodeData, propertiesTag);
-            wirePropertiesList.appendTag(propertiesTag);
+        compound.setIntArray("Positions", positions);
+        compound.setIntArray("Flags", flags);
+        if(marks != null) {
+            compound.setIntArray("Marks", marks);
         }
-
-        compound.setTag("NodeIndexes", allNodesList);
-        compound.setTag("WireProperties", wirePropertiesList);
+        compound.setTag("NodeData", nodeDataList);
         return compound;
     }
 
@@ -1,5 +1,7 @@
 package gregtech.api.pipenet;
 
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
@@ -15,6 +17,8 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
 
     protected World world;
     protected List<T> pipeNets = new ArrayList<>();
+    //maps packed position of every node to the pipe net containing it
+    private final TLongObjectMap<T> pipeNetByNodePos = new TLongObjectHashMap<>();
 
     public WorldPipeNet(String name) {
         super(name);
@@ -26,16 +30,13 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
 
     public void addNode(BlockPos nodePos, NodeDataType nodeData, int mark, int blockedConnections, boolean isActive) {
         T myPipeNet = null;
-        Node<NodeDataType> node = new Node<>(nodeData, blockedConnections, mark, isActive);
         for(EnumFacing facing : EnumFacing.VALUES) {
             BlockPos offsetPos = nodePos.offset(facing);
             T pipeNet = getNetFromPos(offsetPos);
-            Node<NodeDataType> secondNode = pipeNet == null ? null : pipeNet.getAllNodes().get(offsetPos);
-            if(pipeNet != null && pipeNet.canAttachNode(nodeData) &&
-                pipeNet.canNodesConnect(secondNode, facing.getOpposite(), node, null)) {
+            if(pipeNet != null && pipeNet.canConnectNewNode(offsetPos, facing.getOpposite(), nodeData, mark, blockedConnections)) {
                 if(myPipeNet == null) {
                     myPipeNet = pipeNet;
-                    myPipeNet.addNode(nodePos, node);
+                    myPipeNet.addNode(nodePos, nodeData, mark, blockedConnections, isActive);
                 } else if(myPipeNet != pipeNet) {
                     myPipeNet.uniteNetworks(pipeNet);
                 }
@@ -44,7 +45,7 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
         }
         if(myPipeNet == null) {
             myPipeNet = createNetInstance();
-            myPipeNet.addNode(nodePos, node);
+            myPipeNet.addNode(nodePos, nodeData, mark, blockedConnections, isActive);
             addPipeNet(myPipeNet);
             markDirty();
         }
@@ -72,11 +73,24 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     }
 
     public T getNetFromPos(BlockPos blockPos) {
-        for(T pipeNet : pipeNets) {
-            if(pipeNet.containsNode(blockPos))
-                return pipeNet;
+        return pipeNetByNodePos.get(blockPos.toLong());
+    }
+
+    /**
+     * Called by pipe nets when node at given position is added to them,
+     * or transferred to them from another pipe net
+     */
+    void onNodeAdded(long nodePos, T pipeNet) {
+        this.pipeNetByNodePos.put(nodePos, pipeNet);
+    }
+
+    /**
+     * Called by pipe nets when node at given position is removed from the world
+     */
+    void onNodeRemoved(long nodePos, T pipeNet) {
+        if(pipeNetByNodePos.get(nodePos) == pipeNet) {
+            this.pipeNetByNodePos.remove(nodePos);
         }
-        return null;
     }
 
     protected void addPipeNet(T pipeNet) {
@@ -94,6 +108,7 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     @Override
     public void readFromNBT(NBTTagCompound nbt) {
         this.pipeNets = new ArrayList<>();
+        this.pipeNetByNodePos.clear();
         NBTTagList allEnergyNets = nbt.getTagList("PipeNets", NBT.TAG_COMPOUND);
         for(int i = 0; i < allEnergyNets.tagCount(); i++) {
             NBTTagCompound pNetTag = allEnergyNets.getCompoundTagAt(i);
@@ -101,6 +116,10 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
             pipeNets.add(pipeNet);
             pipeNet.isValid = true;
             pipeNet.deserializeNBT(pNetTag);
+            pipeNet.allNodes.forEachKey(nodePos -> {
+                onNodeAdded(nodePos, pipeNet);
+                return true;
+            });
         }
         this.pipeNets.forEach(PipeNet::onConnectionsUpdate);
     }
@@ -109,6 +128,7 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     public NBTTagCompound writeToNBT(NBTTagCompound compound) {
         NBTTagList allPipeNets = new NBTTagList();
         for (T pipeNet : pipeNets) {
+            //nets which didn't change since last save reuse already written node lists
             NBTTagCompound pNetTag = pipeNet.serializeNBT();
             allPipeNets.appendTag(pNetTag);
         }
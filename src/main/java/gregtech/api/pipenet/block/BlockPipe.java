@@ -10,6 +10,8 @@ import gregtech.api.block.BuiltInRenderBlock;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.pipenet.tile.IPipeTile;
+import gregtech.api.pipenet.tile.PipeConnectionCache;
+import gregtech.api.pipenet.tile.TileEntityPipeBase;
 import gregtech.api.unification.material.type.Material;
 import net.minecraft.block.Block;
 import net.minecraft.block.ITileEntityProvider;
@@ -37,8 +39,8 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.common.Loader;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @SuppressWarnings("deprecation")
 public abstract class BlockPipe<PipeType extends Enum<PipeType> & IPipeType<NodeDataType>, NodeDataType, WorldPipeNetType extends WorldPipeNet<NodeDataType, ? extends PipeNet<NodeDataType>>> extends BuiltInRenderBlock implements ITileEntityProvider {
@@ -48,6 +50,9 @@ public abstract class BlockPipe<PipeType extends Enum<PipeType> & IPipeType<Node
     public final NodeDataType baseProperties;
     public final Material material;
     private final List<NodeDataType> typePropertiesCache = new ArrayList<>();
+    //collision boxes of each pipe type indexed by mask of connected sides
+    //concurrent because block instance is shared by client and integrated server threads
+    private final Map<PipeType, List<IndexedCuboid6>[]> collisionBoxTables = new ConcurrentHashMap<>();
 
     public BlockPipe(Material material, NodeDataType baseProperties) {
         super(net.minecraft.block.material.Material.IRON);
@@ -119,9 +124,24 @@ public abstract class BlockPipe<PipeType extends Enum<PipeType> & IPipeType<Node
 
     @Override
     public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn, BlockPos fromPos) {
+        IPipeTile<PipeType, NodeDataType> pipeTile = getPipeTileEntity(worldIn, pos);
+        if(pipeTile != null) {
+            pipeTile.getNeighborCache().invalidate(pos, fromPos);
+            PipeConnectionCache connectionCache = pipeTile.getConnectionCache();
+            boolean wasValid = connectionCache.isValid();
+            int lastConnections = connectionCache.getConnections();
+            connectionCache.invalidate();
+            //client doesn't receive neighbour changes, so resync pipe to let it refresh connections
+            if((!wasValid || getCachedActualConnections(pipeTile, worldIn) != lastConnections) &&
+                pipeTile instanceof TileEntityPipeBase) {
+                //noinspection unchecked
+                ((TileEntityPipeBase<PipeType, NodeDataType>) pipeTile).updateClientState();
+            }
+        }
         boolean isActiveNodeNow = getActiveNodeConnections(worldIn, pos) > 0;
         PipeNet<NodeDataType> pipeNet = getWorldPipeNet(worldIn).getNetFromPos(pos);
         if(pipeNet != null) {
+            pipeNet.onNeighbourUpdate(pos);
             boolean modeChanged = pipeNet.markNodeAsActive(pos, isActiveNodeNow);
             if(modeChanged) {
                 onActiveModeChange(worldIn, pos, isActiveNodeNow, false);
@@ -280,18 +300,44 @@ public abstract class BlockPipe<PipeType extends Enum<PipeType> & IPipeType<Node
         return connectedSidesMask;
     }
 
+    /**
+     * Returns actual connections of given pipe, reusing mask cached in pipe tile when possible
+     */
+    private int getCachedActualConnections(IPipeTile<PipeType, NodeDataType> selfTile, IBlockAccess world) {
+        if(!(world instanceof World)) {
+            return getActualConnections(selfTile, world);
+        }
+        PipeConnectionCache connectionCache = selfTile.getConnectionCache();
+        if(!connectionCache.isValid()) {
+            connectionCache.setConnections(getActualConnections(selfTile, world));
+        }
+        return connectionCache.getConnections();
+    }
+
     private List<IndexedCuboid6> getCollisionBox(IBlockAccess world, BlockPos pos, IBlockState state) {
         IPipeTile<PipeType, NodeDataType> pipeTile = getPipeTileEntity(world, pos);
-        int actualConnections = getActualConnections(pipeTile, world);
-        float thickness = state.getValue(pipeVariantProperty).getThickness();
-        ArrayList<IndexedCuboid6> result = new ArrayList<>();
-        result.add(new IndexedCuboid6(0, getSideBox(null, thickness)));
-        for(EnumFacing side : EnumFacing.VALUES) {
-            if((actualConnections & 1 << side.getIndex()) > 0) {
-                result.add(new IndexedCuboid6(0, getSideBox(side, thickness)));
+        int actualConnections = pipeTile == null ? 0 : getCachedActualConnections(pipeTile, world);
+        PipeType pipeType = state.getValue(pipeVariantProperty);
+        List<IndexedCuboid6>[] collisionBoxTable = collisionBoxTables.computeIfAbsent(pipeType,
+            type -> createCollisionBoxTable(type.getThickness()));
+        //only lower 6 bits are side connections, others mark connections to thinner pipes
+        return collisionBoxTable[actualConnections & 0b111111];
+    }
+
+    private static List<IndexedCuboid6>[] createCollisionBoxTable(float thickness) {
+        //noinspection unchecked
+        List<IndexedCuboid6>[] collisionBoxTable = new List[1 << EnumFacing.VALUES.length];
+        for(int connections = 0; connections < collisionBoxTable.length; connections++) {
+            List<IndexedCuboid6> result = new ArrayList<>();
+            result.add(new IndexedCuboid6(0, getSideBox(null, thickness)));
+            for(EnumFacing side : EnumFacing.VALUES) {
+                if((connections & 1 << side.getIndex()) > 0) {
+                    result.add(new IndexedCuboid6(0, getSideBox(side, thickness)));
+                }
             }
+            collisionBoxTable[connections] = Collections.unmodifiableList(result);
         }
-        return result;
+        return collisionBoxTable;
     }
 
     public static Cuboid6 getSideBox(EnumFacing side, float thickness) {
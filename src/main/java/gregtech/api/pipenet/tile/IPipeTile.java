@@ -2,6 +2,7 @@ package gregtech.api.pipenet.tile;
 
 import gregtech.api.pipenet.block.BlockPipe;
 import gregtech.api.pipenet.block.IPipeType;
+import gregtech.api.util.NeighborCapabilityCache;
 import gregtech.common.pipelike.cable.Insulation;
 import gregtech.common.pipelike.cable.WireProperties;
 import net.minecraft.util.math.BlockPos;
@@ -29,4 +30,14 @@ public interface IPipeTile<PipeType extends Enum<PipeType> & IPipeType<NodeDataT
 
     NodeDataType getNodeData();
 
+    /**
+     * @return cache of tile entities adjacent to this pipe
+     */
+    NeighborCapabilityCache getNeighborCache();
+
+    /**
+     * @return cache of connection mask used for collision and ray tracing of this pipe
+     */
+    PipeConnectionCache getConnectionCache();
+
 }
@@ -0,0 +1,54 @@
+package gregtech.api.pipenet.tile;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Connection mask of pipe resolved by {@link gregtech.api.pipenet.block.BlockPipe#getActualConnections},
+ * reused by collision and ray trace queries instead of probing adjacent tile entities every time
+ * Owner invalidates it on neighbour changes and when own connection state changes, and pipes changing
+ * their connection state also invalidate caches of adjacent pipes, since their connections depend on it
+ * Adjacent block changes are not reported on client side, so server resyncs pipe when its connections change
+ */
+public class PipeConnectionCache {
+
+    private int connections;
+    private boolean isValid = false;
+
+    public boolean isValid() {
+        return isValid;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public void setConnections(int connections) {
+        this.connections = connections;
+        this.isValid = true;
+    }
+
+    public void invalidate() {
+        this.isValid = false;
+    }
+
+    /**
+     * Invalidates connection caches of loaded pipes adjacent to given position
+     */
+    public static void invalidateAdjacent(World world, BlockPos pos) {
+        MutableBlockPos blockPos = new MutableBlockPos();
+        for(EnumFacing side : EnumFacing.VALUES) {
+            blockPos.setPos(pos).move(side);
+            if(!world.isBlockLoaded(blockPos)) {
+                continue;
+            }
+            TileEntity tileEntity = world.getTileEntity(blockPos);
+            if(tileEntity instanceof IPipeTile) {
+                ((IPipeTile<?, ?>) tileEntity).getConnectionCache().invalidate();
+            }
+        }
+    }
+}
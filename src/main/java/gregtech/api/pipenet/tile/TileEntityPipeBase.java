@@ -3,6 +3,7 @@ package gregtech.api.pipenet.tile;
 import gregtech.api.block.BlockStateTileEntity;
 import gregtech.api.pipenet.block.BlockPipe;
 import gregtech.api.pipenet.block.IPipeType;
+import gregtech.api.util.NeighborCapabilityCache;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetworkManager;
@@ -17,6 +18,8 @@ public class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipeType<Node
 
     private int blockedConnections = 0;
     private int insulationColor = DEFAULT_INSULATION_COLOR;
+    private final NeighborCapabilityCache neighborCache = new NeighborCapabilityCache();
+    private final PipeConnectionCache connectionCache = new PipeConnectionCache();
 
     public TileEntityPipeBase() {
     }
@@ -25,6 +28,7 @@ public class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipeType<Node
     public void transferDataFrom(IPipeTile<PipeType, NodeDataType> tileEntity) {
         this.blockedConnections = tileEntity.getBlockedConnections();
         this.insulationColor = tileEntity.getInsulationColor();
+        invalidateConnectionCaches();
     }
 
     @Override
@@ -56,6 +60,7 @@ public class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipeType<Node
     @Override
     public void setInsulationColor(int insulationColor) {
         this.insulationColor = insulationColor;
+        invalidateConnectionCaches();
         if(!getWorld().isRemote) {
             getPipeBlock().getWorldPipeNet(getWorld()).updateMark(getPos(), getCableMark());
             updateClientState();
@@ -69,6 +74,7 @@ public class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipeType<Node
         } else {
             this.blockedConnections &= ~(1 << side.getIndex());
         }
+        invalidateConnectionCaches();
         if(!getWorld().isRemote) {
             getPipeBlock().getWorldPipeNet(getWorld()).updateBlockedConnections(getPos(), side, blocked);
         }
@@ -84,6 +90,36 @@ public class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipeType<Node
         return getPipeBlock().getProperties(getPipeType());
     }
 
+    @Override
+    public NeighborCapabilityCache getNeighborCache() {
+        return neighborCache;
+    }
+
+    @Override
+    public PipeConnectionCache getConnectionCache() {
+        return connectionCache;
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        this.neighborCache.invalidate();
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        this.neighborCache.invalidate();
+    }
+
+    private void invalidateConnectionCaches() {
+        this.connectionCache.invalidate();
+        //connections of adjacent pipes depend on our blocked connections and insulation too
+        if(getWorld() != null) {
+            PipeConnectionCache.invalidateAdjacent(getWorld(), getPos());
+        }
+    }
+
     private int getCableMark() {
         return insulationColor == DEFAULT_INSULATION_COLOR ? 0 : insulationColor;
     }
@@ -93,6 +129,7 @@ public class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipeType<Node
         super.readFromNBT(compound);
         this.blockedConnections = compound.getInteger("BlockedConnections");
         this.insulationColor = compound.getInteger("InsulationColor");
+        invalidateConnectionCaches();
     }
 
     @Override
@@ -5,8 +5,10 @@ import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.unification.stack.UnificationEntry;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
+import net.minecraftforge.oredict.OreDictionary;
 import net.minecraftforge.oredict.OreIngredient;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -21,11 +23,11 @@ public class CountableIngredient {
     }
 
     public static CountableIngredient from(String oredict) {
-        return new CountableIngredient(new OreIngredient(oredict), 1);
+        return new CountableIngredient(createOreIngredient(oredict), oredict, 1);
     }
 
     public static CountableIngredient from(String oredict, int count) {
-        return new CountableIngredient(new OreIngredient(oredict), count);
+        return new CountableIngredient(createOreIngredient(oredict), oredict, count);
     }
 
     public static CountableIngredient from(OrePrefix prefix, Material material) {
@@ -33,21 +35,56 @@ public class CountableIngredient {
     }
 
     public static CountableIngredient from(OrePrefix prefix, Material material, int count) {
-        return new CountableIngredient(new OreIngredient(new UnificationEntry(prefix, material).toString()), count);
+        String oreDict = new UnificationEntry(prefix, material).toString();
+        return new CountableIngredient(createOreIngredient(oreDict), oreDict, count);
+    }
+
+    //OreIngredient registers unknown ore names in OreDictionary, which isn't thread safe
+    //and can be called from parallel recipe generation tasks, see RecipeRegistrationStage
+    private static OreIngredient createOreIngredient(String oreDict) {
+        synchronized (OreDictionary.class) {
+            return new OreIngredient(oreDict);
+        }
     }
 
     private Ingredient ingredient;
     private int count;
+    private IngredientMatcher matcher;
+    @Nullable
+    private String oreDictName;
 
     public CountableIngredient(Ingredient ingredient, int count) {
         this.ingredient = ingredient;
         this.count = count;
+        this.matcher = new IngredientMatcher(ingredient, null);
+    }
+
+    private CountableIngredient(OreIngredient ingredient, String oreDict, int count) {
+        this.ingredient = ingredient;
+        this.count = count;
+        this.matcher = new IngredientMatcher(ingredient, oreDict);
+        this.oreDictName = oreDict;
     }
 
     public Ingredient getIngredient() {
         return ingredient;
     }
 
+    /**
+     * @return matcher compiled from this ingredient, faster than {@link Ingredient#apply(ItemStack)} for repeated matching
+     */
+    public IngredientMatcher getMatcher() {
+        return matcher;
+    }
+
+    /**
+     * @return ore dictionary name this ingredient was created from, or null if it isn't an ore dictionary ingredient
+     */
+    @Nullable
+    public String getOreDictName() {
+        return oreDictName;
+    }
+
     public int getCount() {
         return count;
     }
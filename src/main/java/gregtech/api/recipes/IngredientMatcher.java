@@ -0,0 +1,105 @@
+package gregtech.api.recipes;
+
+import gregtech.api.unification.OreDictUnifier;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraftforge.oredict.OreDictionary;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ingredient compiled into sorted arrays of item id and metadata keys, so matching item stack against it
+ * takes few binary searches instead of iterating and comparing all ingredient stacks
+ * Only plain item ingredients and ore dictionary ingredients with known ore name are compiled, because other
+ * ingredient types can have custom matching logic, as example checking NBT, and are always delegated to ingredient
+ * Ore dictionary ingredients are recompiled when new ore dictionary entries are registered, and after
+ * {@link #recompileAll()} is called, which should be done after ore dictionary entries are removed or changed
+ * directly, as example by CraftTweaker scripts, because such changes don't fire any events
+ */
+public class IngredientMatcher {
+
+    private static volatile int recompileRevision = 0;
+
+    private final Ingredient ingredient;
+    @Nullable
+    private final String oreDictName;
+
+    //sorted item id and metadata keys of exact stacks, and sorted ids of items matching any metadata
+    private long[] itemKeys = new long[0];
+    private int[] wildcardItemIds = new int[0];
+    //revision matcher was compiled at, or -1 if it wasn't compiled yet
+    private volatile long compiledRevision = -1;
+
+    /**
+     * @param oreDictName ore dictionary name ingredient was created from, or null if it is not an ore ingredient
+     */
+    public IngredientMatcher(Ingredient ingredient, @Nullable String oreDictName) {
+        this.ingredient = ingredient;
+        this.oreDictName = oreDictName;
+    }
+
+    public boolean matches(ItemStack itemStack) {
+        if(itemStack.isEmpty() || !isCompilable()) {
+            return ingredient.apply(itemStack);
+        }
+        long currentRevision = getCurrentRevision();
+        if(compiledRevision != currentRevision) {
+            compile(currentRevision);
+        }
+        int itemId = Item.getIdFromItem(itemStack.getItem());
+        return Arrays.binarySearch(wildcardItemIds, itemId) >= 0 ||
+            Arrays.binarySearch(itemKeys, getItemKey(itemId, itemStack.getMetadata())) >= 0;
+    }
+
+    private boolean isCompilable() {
+        //subclasses of plain ingredient can override matching, and ore ingredient is matched against ore name
+        return oreDictName != null || ingredient.getClass() == Ingredient.class;
+    }
+
+    /**
+     * Forces all ingredient matchers to be recompiled on next match
+     * Should be called after ore dictionary entries are changed without registering new entries
+     */
+    public static void recompileAll() {
+        recompileRevision++;
+    }
+
+    private long getCurrentRevision() {
+        //plain ingredients never change, so only ore dictionary ingredients depend on revisions
+        return oreDictName == null ? 0 : (long) recompileRevision << 32 | OreDictUnifier.getRegistrationRevision() & 0xFFFFFFFFL;
+    }
+
+    private void compile(long revision) {
+        List<ItemStack> matchingStacks = oreDictName == null ?
+            Arrays.asList(ingredient.getMatchingStacks()) :
+            OreDictionary.getOres(oreDictName, false);
+        long[] itemKeys = new long[matchingStacks.size()];
+        int[] wildcardItemIds = new int[matchingStacks.size()];
+        int itemKeysCount = 0;
+        int wildcardItemsCount = 0;
+        for(ItemStack matchingStack : matchingStacks) {
+            if(matchingStack.isEmpty()) continue;
+            int itemId = Item.getIdFromItem(matchingStack.getItem());
+            if(matchingStack.getMetadata() == OreDictionary.WILDCARD_VALUE) {
+                wildcardItemIds[wildcardItemsCount++] = itemId;
+            } else {
+                itemKeys[itemKeysCount++] = getItemKey(itemId, matchingStack.getMetadata());
+            }
+        }
+        itemKeys = Arrays.copyOf(itemKeys, itemKeysCount);
+        wildcardItemIds = Arrays.copyOf(wildcardItemIds, wildcardItemsCount);
+        Arrays.sort(itemKeys);
+        Arrays.sort(wildcardItemIds);
+        //publish only sorted arrays, revision is written last so concurrent readers never see stale keys as valid
+        this.itemKeys = itemKeys;
+        this.wildcardItemIds = wildcardItemIds;
+        this.compiledRevision = revision;
+    }
+
+    private static long getItemKey(int itemId, int metadata) {
+        return (long) itemId << 32 | metadata & 0xFFFFFFFFL;
+    }
+}
@@ -0,0 +1,48 @@
+package gregtech.api.recipes;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import java.util.Objects;
+
+/**
+ * Key identifying item stack by its item, metadata and tag, ignoring stack size
+ * Tag is not copied, so keys stored for later use should be created from stacks which won't be modified
+ */
+public class ItemStackKey {
+
+    public final Item item;
+    public final int itemDamage;
+    public final NBTTagCompound tag;
+
+    public ItemStackKey(ItemStack itemStack) {
+        this.item = itemStack.getItem();
+        this.itemDamage = itemStack.getItemDamage();
+        this.tag = itemStack.getTagCompound();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ItemStackKey)) return false;
+        ItemStackKey itemStackKey = (ItemStackKey) o;
+        return item == itemStackKey.item &&
+            itemDamage == itemStackKey.itemDamage &&
+            Objects.equals(tag, itemStackKey.tag);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(item, itemDamage, tag);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemStackKey{" +
+            "item=" + item.getRegistryName() +
+            ", itemDamage=" + itemDamage +
+            ", tag=" + tag +
+            '}';
+    }
+}
@@ -167,6 +167,7 @@ public class ModHandler {
      * Just simple Furnace smelting
      */
     public static void addSmeltingRecipe(ItemStack input, ItemStack output) {
+        if(RecipeRegistrationStage.stage(() -> addSmeltingRecipe(input, output))) return;
         boolean skip = false;
         if (input.isEmpty()) {
             GTLog.logger.error("Input cannot be an empty ItemStack", new IllegalArgumentException());
@@ -221,9 +222,10 @@ public class ModHandler {
      * </ul>
      */
     public static void addMirroredShapedRecipe(String regName, ItemStack result, Object... recipe) {
-        result = OreDictUnifier.getUnificated(result);
+        if(RecipeRegistrationStage.stage(() -> addMirroredShapedRecipe(regName, result, recipe))) return;
+        ItemStack unificatedResult = OreDictUnifier.getUnificated(result);
         boolean skip = false;
-        if (result.isEmpty()) {
+        if (unificatedResult.isEmpty()) {
             GTLog.logger.error("Result cannot be an empty ItemStack. Recipe: {}", regName);
             GTLog.logger.error("Stacktrace:", new IllegalArgumentException());
             skip = true;
@@ -234,7 +236,7 @@ public class ModHandler {
             return;
         }
 
-        IRecipe shapedOreRecipe = new ShapedOreRecipe(new ResourceLocation(GTValues.MODID, "general"), result.copy(), finalizeShapedRecipeInput(recipe))
+        IRecipe shapedOreRecipe = new ShapedOreRecipe(new ResourceLocation(GTValues.MODID, "general"), unificatedResult.copy(), finalizeShapedRecipeInput(recipe))
             .setMirrored(true)
             .setRegistryName(regName);
         ForgeRegistries.RECIPES.register(shapedOreRecipe);
@@ -269,6 +271,7 @@ public class ModHandler {
      * </ul>
      */
     public static void addShapedRecipe(String regName, ItemStack result, Object... recipe) {
+        if(RecipeRegistrationStage.stage(() -> addShapedRecipe(regName, result, recipe))) return;
         boolean skip = false;
         if (result.isEmpty()) {
             GTLog.logger.error("Result cannot be an empty ItemStack. Recipe: {}", regName);
@@ -288,6 +291,7 @@ public class ModHandler {
     }
 
     public static void addShapedIngredientAwareRecipe(String regName, ItemStack result, Object... recipe) {
+        if(RecipeRegistrationStage.stage(() -> addShapedIngredientAwareRecipe(regName, result, recipe))) return;
         boolean skip = false;
         if (result.isEmpty()) {
             GTLog.logger.error("Result cannot be an empty ItemStack. Recipe: {}", regName);
@@ -382,6 +386,7 @@ public class ModHandler {
      * Add Shapeless Crafting Recipes
      */
     public static void addShapelessRecipe(String regName, ItemStack result, Object... recipe) {
+        if(RecipeRegistrationStage.stage(() -> addShapelessRecipe(regName, result, recipe))) return;
         boolean skip = false;
         if (result.isEmpty()) {
             GTLog.logger.error("Result cannot be an empty ItemStack. Recipe: {}", regName);
@@ -486,8 +491,10 @@ public class ModHandler {
 
     /**
      * Removes a Smelting Recipe
+     * @return true if recipe was removed, always false if removal was deferred by {@link RecipeRegistrationStage}
      */
     public static boolean removeFurnaceSmelting(ItemStack input) {
+        if(RecipeRegistrationStage.stage(() -> removeFurnaceSmelting(input))) return false;
         if (input.isEmpty()) {
             GTLog.logger.error("Cannot remove furnace recipe with empty input.");
             GTLog.logger.error("Stacktrace:", new IllegalArgumentException());
@@ -19,12 +19,15 @@ import gregtech.api.gui.widgets.TankWidget;
 import gregtech.api.recipes.builders.IntCircuitRecipeBuilder;
 import gregtech.api.recipes.crafttweaker.CTRecipe;
 import gregtech.api.recipes.crafttweaker.CTRecipeBuilder;
+import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.unification.material.type.Material;
 import gregtech.api.unification.ore.OrePrefix;
+import gregtech.api.unification.stack.SimpleItemStack;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.ValidationResult;
 import net.minecraft.client.resources.I18n;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
@@ -32,6 +35,8 @@ import net.minecraftforge.fml.common.Optional.Method;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import net.minecraftforge.items.IItemHandlerModifiable;
+import net.minecraftforge.oredict.OreDictionary;
+import net.minecraftforge.oredict.OreIngredient;
 import stanhebben.zenscript.annotations.ZenClass;
 import stanhebben.zenscript.annotations.ZenGetter;
 import stanhebben.zenscript.annotations.ZenMethod;
@@ -62,6 +67,23 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     private final Map<FluidKey, Collection<Recipe>> recipeFluidMap = new HashMap<>();
     private final Collection<Recipe> recipeList = new ArrayList<>();
 
+    /**
+     * Recipes keyed by item and metadata of their most selective item input
+     * Wildcard metadata keys are stored as is and checked separately on lookup
+     */
+    private final Map<SimpleItemStack, Collection<Recipe>> recipeItemMap = new HashMap<>();
+    /**
+     * Recipes that cannot be keyed by item, e.g. ones without item inputs or with
+     * ingredients that don't expose their matching stacks
+     */
+    private final Collection<Recipe> recipesWithoutItemKey = new ArrayList<>();
+    /**
+     * Recipes keyed by ore dictionary name of their ore ingredient, looked up by ore names of input stacks,
+     * so index doesn't need to be updated when new items are registered in ore dictionary
+     */
+    private final Map<String, Collection<Recipe>> recipeOreDictMap = new HashMap<>();
+    private int recipesRevision = 0;
+
 	public RecipeMap(String unlocalizedName,
                      int minInputs, int maxInputs, int minOutputs, int maxOutputs,
                      int minFluidInputs, int maxFluidInputs, int minFluidOutputs, int maxFluidOutputs,
@@ -155,25 +177,80 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 				setFoundInvalidRecipe(true);
 				return;
 		}
+		if (RecipeRegistrationStage.stage(() -> addRecipe(validationResult))) {
+			return;
+		}
 		Recipe recipe = validationResult.getResult();
 		recipeList.add(recipe);
+		this.recipesRevision++;
 
 		for (FluidStack fluid : recipe.getFluidInputs()) {
 			recipeFluidMap.computeIfAbsent(new FluidKey(fluid), k -> new HashSet<>(1)).add(recipe);
 		}
+		addRecipeItemMapping(recipe);
 	}
 
 	public boolean removeRecipe(Recipe recipe) {
 	    //if we actually removed this recipe
 	    if(recipeList.remove(recipe)) {
+	        this.recipesRevision++;
 	        //also iterate trough fluid mappings and remove recipe from them
 	        recipeFluidMap.values().forEach(fluidMap ->
                 fluidMap.removeIf(fluidRecipe -> fluidRecipe == recipe));
+	        //and trough item mappings too
+	        recipeItemMap.values().forEach(itemMap ->
+                itemMap.removeIf(itemRecipe -> itemRecipe == recipe));
+	        recipeOreDictMap.values().forEach(oreDictMap ->
+                oreDictMap.removeIf(oreDictRecipe -> oreDictRecipe == recipe));
+	        recipesWithoutItemKey.removeIf(itemRecipe -> itemRecipe == recipe);
 	        return true;
         }
         return false;
     }
 
+    private void addRecipeItemMapping(Recipe recipe) {
+        //recipe can only match if every ingredient matches some input stack,
+        //so it is enough to key it by ingredient with the smallest amount of keys
+        //ore ingredients are keyed by single ore name, plain ones by each of their matching stacks
+        ItemStack[] keyStacks = null;
+        String keyOreDictName = null;
+        int minKeysCount = Integer.MAX_VALUE;
+        for (CountableIngredient ingredient : recipe.getInputs()) {
+            String oreDictName = ingredient.getOreDictName();
+            if (oreDictName != null) {
+                //plain single item ingredient is preferred, since it is more selective
+                if (minKeysCount > 1) {
+                    keyStacks = null;
+                    keyOreDictName = oreDictName;
+                    minKeysCount = 1;
+                }
+                continue;
+            }
+            //matching stacks of ore ingredients with unknown name change with ore dictionary, so they can't be keys
+            if (ingredient.getIngredient() instanceof OreIngredient) continue;
+            ItemStack[] matchingStacks = ingredient.getIngredient().getMatchingStacks();
+            if (matchingStacks.length > 0 && (matchingStacks.length < minKeysCount ||
+                (matchingStacks.length == minKeysCount && keyOreDictName != null))) {
+                keyStacks = matchingStacks;
+                keyOreDictName = null;
+                minKeysCount = matchingStacks.length;
+            }
+        }
+        if (keyOreDictName != null) {
+            recipeOreDictMap.computeIfAbsent(keyOreDictName, k -> new LinkedHashSet<>(1)).add(recipe);
+            return;
+        }
+        if (keyStacks == null) {
+            recipesWithoutItemKey.add(recipe);
+            return;
+        }
+        for (ItemStack keyStack : keyStacks) {
+            if (keyStack.isEmpty()) continue;
+            SimpleItemStack itemKey = new SimpleItemStack(keyStack.getItem(), keyStack.getMetadata());
+            recipeItemMap.computeIfAbsent(itemKey, k -> new LinkedHashSet<>(1)).add(recipe);
+        }
+    }
+
     @Nullable
     public Recipe findRecipe(long voltage, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
         return this.findRecipe(voltage, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
@@ -221,14 +298,40 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
 	@Nullable
 	private Recipe findByInputs(long voltage, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
-        for (Recipe recipe : recipeList) {
-            if (recipe.matches(false, inputs, fluidInputs)) {
+        Set<Recipe> checkedRecipes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ItemStack inputStack : inputs) {
+            if (inputStack.isEmpty()) continue;
+            Item item = inputStack.getItem();
+            Recipe recipe = findInCandidates(recipeItemMap.get(new SimpleItemStack(item, inputStack.getMetadata())), checkedRecipes, inputs, fluidInputs);
+            if (recipe == null) {
+                recipe = findInCandidates(recipeItemMap.get(new SimpleItemStack(item, GTValues.W)), checkedRecipes, inputs, fluidInputs);
+            }
+            if (recipe == null && !recipeOreDictMap.isEmpty()) {
+                //ore dictionary itself is asked, since it takes both wildcard and exact registrations into account
+                for (int oreId : OreDictionary.getOreIDs(inputStack)) {
+                    recipe = findInCandidates(recipeOreDictMap.get(OreDictionary.getOreName(oreId)), checkedRecipes, inputs, fluidInputs);
+                    if (recipe != null) break;
+                }
+            }
+            if (recipe != null) {
                 return voltage * amperage >= recipe.getEUt() ? recipe : null;
             }
         }
-		return null;
+        Recipe recipe = findInCandidates(recipesWithoutItemKey, checkedRecipes, inputs, fluidInputs);
+        return recipe != null && voltage * amperage >= recipe.getEUt() ? recipe : null;
 	}
 
+    @Nullable
+    private static Recipe findInCandidates(@Nullable Collection<Recipe> candidates, Set<Recipe> checkedRecipes, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
+        if (candidates == null) return null;
+        for (Recipe recipe : candidates) {
+            if (checkedRecipes.add(recipe) && recipe.matches(false, inputs, fluidInputs)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
     public ModularUI.Builder createJeiUITemplate(IItemHandlerModifiable importItems, IItemHandlerModifiable exportItems, FluidTankList importFluids, FluidTankList exportFluids) {
 	    return createUITemplate(() -> 0.0, importItems, exportItems, importFluids, exportFluids);
     }
@@ -328,6 +431,15 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     }
 
 
+    /**
+     * Returns value changing every time set of recipes that can be found by this map may have changed,
+     * i.e when recipes are added or removed, or ore dictionary is modified
+     * Can be used to invalidate caches of recipe search results
+     */
+    public int getRecipesRevision() {
+        return recipesRevision * 31 + OreDictUnifier.getRegistrationRevision();
+    }
+
     public Collection<Recipe> getRecipeList() {
         return Collections.unmodifiableCollection(recipeList);
     }
@@ -0,0 +1,75 @@
+package gregtech.api.recipes;
+
+import gregtech.common.ConfigHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs recipe generation tasks on fork-join pool, deferring registrations they perform into per-task buffers
+ * Buffers are replayed on calling thread in task order once all tasks finish, so resulting registration
+ * order is exactly the same as if tasks were run sequentially
+ * Tasks are expected to only read shared state, all registry mutations should go through {@link #stage(Runnable)}
+ * Shared state tasks may read is material registry and material properties, ore prefixes and
+ * {@link gregtech.api.unification.OreDictUnifier} lookups, which keep their unification lists sorted on registration
+ * Ore dictionary ingredients can be created too, since their creation is synchronized on ore dictionary
+ */
+public class RecipeRegistrationStage {
+
+    private static final ThreadLocal<List<Runnable>> stagedActions = new ThreadLocal<>();
+
+    /**
+     * Defers given registration action if called from task run by {@link #runTasks(List)}
+     * @return true if action was deferred, false if caller should perform it immediately
+     */
+    public static boolean stage(Runnable action) {
+        List<Runnable> actions = stagedActions.get();
+        if(actions == null) {
+            return false;
+        }
+        actions.add(action);
+        return true;
+    }
+
+    /**
+     * Runs given tasks in parallel if enabled in config, or sequentially otherwise
+     */
+    public static void runTasks(List<Runnable> tasks) {
+        int threadCount = ConfigHolder.materialHandlerThreads;
+        if(threadCount <= 1 || tasks.size() <= 1) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        ForkJoinPool forkJoinPool = new ForkJoinPool(threadCount);
+        try {
+            List<ForkJoinTask<List<Runnable>>> submittedTasks = new ArrayList<>(tasks.size());
+            for(Runnable task : tasks) {
+                submittedTasks.add(forkJoinPool.submit(() -> runStaged(task)));
+            }
+            //wait for all tasks before replaying anything, because registrations aren't thread safe
+            List<List<Runnable>> taskActions = new ArrayList<>(submittedTasks.size());
+            for(ForkJoinTask<List<Runnable>> submittedTask : submittedTasks) {
+                taskActions.add(submittedTask.join());
+            }
+            for(List<Runnable> actions : taskActions) {
+                actions.forEach(Runnable::run);
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    private static List<Runnable> runStaged(Runnable task) {
+        List<Runnable> previousActions = stagedActions.get();
+        List<Runnable> actions = new ArrayList<>();
+        stagedActions.set(actions);
+        try {
+            task.run();
+        } finally {
+            stagedActions.set(previousActions);
+        }
+        return actions;
+    }
+}
@@ -1,18 +1,32 @@
 package gregtech.api.recipes.machines;
 
+import gregtech.api.recipes.ItemStackKey;
 import gregtech.api.recipes.ModHandler;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.util.GTUtility;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.FurnaceRecipes;
 import net.minecraftforge.fluids.FluidStack;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RecipeMapFurnace extends RecipeMap<SimpleRecipeBuilder> {
 
+    private static final int MAX_CACHED_SMELTING_RECIPES = 4096;
+
+    //recipes created from furnace recipes, empty values mean input can't be smelted
+    //recipes are looked up from both client and server threads, so cache is concurrent
+    private final Map<ItemStackKey, Optional<Recipe>> smeltingRecipeCache = new ConcurrentHashMap<>();
+    private volatile int cachedSmeltingListSize = -1;
+    private volatile int cachedRegistrationRevision = -1;
+
     public RecipeMapFurnace(String unlocalizedName, int minInputs, int maxInputs, int minOutputs, int maxOutputs, int minFluidInputs, int maxFluidInputs, int minFluidOutputs, int maxFluidOutputs, int amperage, SimpleRecipeBuilder defaultRecipe) {
         super(unlocalizedName, minInputs, maxInputs, minOutputs, maxOutputs, minFluidInputs, maxFluidInputs, minFluidOutputs, maxFluidOutputs, amperage, defaultRecipe);
     }
@@ -23,12 +37,46 @@ public class RecipeMapFurnace extends RecipeMap<SimpleRecipeBuilder> {
         Recipe normalRecipe = super.findRecipe(voltage, inputs, fluidInputs);
         if (normalRecipe != null || inputs.size() == 0 || inputs.get(0).isEmpty())
             return normalRecipe;
-        ItemStack output = ModHandler.getSmeltingOutput(inputs.get(0));
-        return output.isEmpty() ? null : this.recipeBuilder()
+        return findSmeltingRecipe(inputs.get(0));
+    }
+
+    /**
+     * Returns recipe created from furnace recipe of given input, reusing recipes created before
+     * Cache is dropped when amount of furnace recipes or ore dictionary registrations change,
+     * since both of them can change smelting output
+     */
+    @Nullable
+    protected Recipe findSmeltingRecipe(ItemStack input) {
+        int smeltingListSize = FurnaceRecipes.instance().getSmeltingList().size();
+        int registrationRevision = OreDictUnifier.getRegistrationRevision();
+        if (smeltingListSize != cachedSmeltingListSize || registrationRevision != cachedRegistrationRevision ||
+            smeltingRecipeCache.size() >= MAX_CACHED_SMELTING_RECIPES) {
+            invalidateSmeltingRecipes();
+            this.cachedSmeltingListSize = smeltingListSize;
+            this.cachedRegistrationRevision = registrationRevision;
+        }
+        ItemStackKey inputKey = new ItemStackKey(input);
+        Optional<Recipe> cachedRecipe = smeltingRecipeCache.get(inputKey);
+        if (cachedRecipe != null)
+            return cachedRecipe.orElse(null);
+        ItemStack recipeInput = GTUtility.copyAmount(1, input);
+        ItemStack output = ModHandler.getSmeltingOutput(recipeInput);
+        Recipe smeltingRecipe = output.isEmpty() ? null : this.recipeBuilder()
             .notOptimized()
-            .inputs(GTUtility.copyAmount(1, inputs.get(0)))
+            .inputs(recipeInput)
             .outputs(output)
             .duration(128).EUt(4)
             .build().getResult();
+        //key is created from copy, so it isn't affected by changes of input stack tag
+        smeltingRecipeCache.put(new ItemStackKey(recipeInput.copy()), Optional.ofNullable(smeltingRecipe));
+        return smeltingRecipe;
+    }
+
+    /**
+     * Drops all cached smelting recipes, should be called when furnace recipes are replaced
+     * without changing their amount
+     */
+    public void invalidateSmeltingRecipes() {
+        smeltingRecipeCache.clear();
     }
 }
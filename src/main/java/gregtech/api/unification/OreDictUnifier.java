@@ -3,6 +3,7 @@ package gregtech.api.unification;
 import com.google.common.base.CaseFormat;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
+import gregtech.api.recipes.RecipeRegistrationStage;
 import gregtech.api.unification.material.type.DustMaterial;
 import gregtech.api.unification.material.type.IngotMaterial;
 import gregtech.api.unification.material.type.MarkerMaterial;
@@ -38,6 +39,7 @@ public class OreDictUnifier {
     private static final Map<SimpleItemStack, Set<String>> stackOreDictName = new WildcardAwareHashMap<>();
 
     private static Comparator<SimpleItemStack> stackComparator;
+    private static int registrationRevision;
 
 
     public static Comparator<SimpleItemStack> getSimpleItemStackComparator() {
@@ -67,16 +69,19 @@ public class OreDictUnifier {
 
     public static void registerOre(ItemStack itemStack, ItemMaterialInfo materialInfo) {
         if (itemStack.isEmpty()) return;
+        if (RecipeRegistrationStage.stage(() -> registerOre(itemStack, materialInfo))) return;
         materialUnificationInfo.put(new SimpleItemStack(itemStack), materialInfo);
     }
 
     public static void registerOre(ItemStack itemStack, OrePrefix orePrefix, @Nullable Material material) {
         if (itemStack.isEmpty()) return;
+        if (RecipeRegistrationStage.stage(() -> registerOre(itemStack, orePrefix, material))) return;
         OreDictionary.registerOre(orePrefix.name() + (material == null ? "" : material.toCamelCaseString()), itemStack);
     }
 
     public static void registerOre(ItemStack itemStack, String oreDict) {
         if (itemStack.isEmpty()) return;
+        if (RecipeRegistrationStage.stage(() -> registerOre(itemStack, oreDict))) return;
         OreDictionary.registerOre(oreDict, itemStack);
     }
 
@@ -94,6 +99,7 @@ public class OreDictUnifier {
     public static void onItemRegistration(OreRegisterEvent event) {
         SimpleItemStack simpleItemStack = new SimpleItemStack(event.getOre());
         String oreName = event.getName();
+        registrationRevision++;
         //cache this registration by name
         stackOreDictName.computeIfAbsent(simpleItemStack, k -> new HashSet<>()).add(oreName);
         //and try to transform registration name into OrePrefix + Material pair
@@ -140,7 +146,7 @@ public class OreDictUnifier {
         if(orePrefix != null && (material != null || orePrefix.isSelfReferencing)) {
             UnificationEntry unificationEntry = new UnificationEntry(orePrefix, material);
             stackUnificationInfo.put(simpleItemStack, unificationEntry);
-            stackUnificationItems.computeIfAbsent(unificationEntry, p -> new ArrayList<>()).add(simpleItemStack);
+            addUnificationItem(stackUnificationItems.computeIfAbsent(unificationEntry, p -> new ArrayList<>()), simpleItemStack);
             if(!(material instanceof MarkerMaterial)) {
                 //trigger processOreRegistration only for real materials
                 orePrefix.processOreRegistration(material);
@@ -148,6 +154,27 @@ public class OreDictUnifier {
         }
     }
 
+    /**
+     * Inserts item after all items not preceding it by {@link #getSimpleItemStackComparator()},
+     * so unification lists are always sorted and reading them has no side effects,
+     * making them safe to read from multiple threads once registration is done
+     */
+    private static void addUnificationItem(ArrayList<SimpleItemStack> unificationItems, SimpleItemStack itemStack) {
+        Comparator<SimpleItemStack> comparator = getSimpleItemStackComparator();
+        int insertIndex = unificationItems.size();
+        while(insertIndex > 0 && comparator.compare(unificationItems.get(insertIndex - 1), itemStack) > 0) {
+            insertIndex--;
+        }
+        unificationItems.add(insertIndex, itemStack);
+    }
+
+    /**
+     * @return revision of ore dictionary registrations, changing every time new item is registered
+     */
+    public static int getRegistrationRevision() {
+        return registrationRevision;
+    }
+
     public static Set<String> getOreDictionaryNames(ItemStack itemStack) {
         if(itemStack.isEmpty()) return Collections.emptySet();
         SimpleItemStack simpleItemStack = new SimpleItemStack(itemStack);
@@ -195,7 +222,6 @@ public class OreDictUnifier {
         if(unificationEntry == null || !stackUnificationItems.containsKey(unificationEntry) || !unificationEntry.orePrefix.isUnificationEnabled)
             return itemStack;
         ArrayList<SimpleItemStack> keys = stackUnificationItems.get(unificationEntry);
-        keys.sort(getSimpleItemStackComparator());
         return keys.size() > 0 ? keys.get(0).asItemStack(itemStack.getCount()) : itemStack;
     }
 
@@ -212,7 +238,6 @@ public class OreDictUnifier {
         if(!stackUnificationItems.containsKey(unificationEntry))
             return ItemStack.EMPTY;
         ArrayList<SimpleItemStack> keys = stackUnificationItems.get(unificationEntry);
-        keys.sort(getSimpleItemStackComparator());
         return keys.size() > 0 ? keys.get(0).asItemStack(stackSize) : ItemStack.EMPTY;
     }
 
@@ -226,7 +251,6 @@ public class OreDictUnifier {
         if(!stackUnificationItems.containsKey(unificationEntry))
             return Collections.emptyList();
         ArrayList<SimpleItemStack> keys = stackUnificationItems.get(unificationEntry);
-        keys.sort(getSimpleItemStackComparator());
         return keys.stream().map(SimpleItemStack::asItemStack).collect(Collectors.toList());
     }
 
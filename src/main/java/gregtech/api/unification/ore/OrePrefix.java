@@ -1,6 +1,7 @@
 package gregtech.api.unification.ore;
 
 import com.google.common.base.Preconditions;
+import gregtech.api.recipes.RecipeRegistrationStage;
 import gregtech.api.unification.material.MarkerMaterials;
 import gregtech.api.unification.material.MaterialIconType;
 import gregtech.api.unification.material.Materials;
@@ -512,10 +513,20 @@ public enum OrePrefix {
         }
     }
 
+    /**
+     * Runs processing handlers for materials registered since last pass
+     * Each prefix and material pair is a separate task, so they can be run in parallel by {@link RecipeRegistrationStage}
+     */
     public static void runMaterialHandlers() {
+        List<Runnable> handlerTasks = new ArrayList<>();
         for(OrePrefix orePrefix : values()) {
-            orePrefix.runGeneratedMaterialHandlers();
+            for(Material registeredMaterial : orePrefix.generatedMaterials) {
+                handlerTasks.add(() -> orePrefix.runMaterialHandlers(registeredMaterial));
+            }
+            //clear generated materials for next pass
+            orePrefix.generatedMaterials.clear();
         }
+        RecipeRegistrationStage.runTasks(handlerTasks);
     }
 
     private static final ThreadLocal<OrePrefix> currentProcessingPrefix = new ThreadLocal<>();
@@ -529,17 +540,13 @@ public enum OrePrefix {
         return currentMaterial.get();
     }
 
-    private void runGeneratedMaterialHandlers() {
+    private void runMaterialHandlers(Material registeredMaterial) {
         currentProcessingPrefix.set(this);
-        for(Material registeredMaterial : generatedMaterials) {
-            currentMaterial.set(registeredMaterial);
-            for(IOreRegistrationHandler registrationHandler : oreProcessingHandlers) {
-                registrationHandler.processMaterial(this, registeredMaterial);
-            }
-            currentMaterial.set(null);
+        currentMaterial.set(registeredMaterial);
+        for(IOreRegistrationHandler registrationHandler : oreProcessingHandlers) {
+            registrationHandler.processMaterial(this, registeredMaterial);
         }
-        //clear generated materials for next pass
-        generatedMaterials.clear();
+        currentMaterial.set(null);
         currentProcessingPrefix.set(null);
     }
 
@@ -0,0 +1,89 @@
+package gregtech.api.util;
+
+import gnu.trove.list.TIntList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemHandlerHelper;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Index of item handler slots by items they contain, used to insert items the same way as
+ * {@link ItemHandlerHelper#insertItemStacked} does, but without going through all slots on each insertion
+ * Index reflects item handler contents at the moment of its creation, and is kept up to date
+ * only with insertions done through it, so it should be used only for a single batch of operations
+ */
+public class ItemHandlerSlotIndex {
+
+    private final IItemHandler itemHandler;
+    private final TLongObjectMap<TIntList> slotsByItem = new TLongObjectHashMap<>();
+    private final TIntList emptySlots = new TIntArrayList();
+
+    public ItemHandlerSlotIndex(IItemHandler itemHandler) {
+        this.itemHandler = itemHandler;
+        for(int slot = 0; slot < itemHandler.getSlots(); slot++) {
+            ItemStack stackInSlot = itemHandler.getStackInSlot(slot);
+            if(stackInSlot.isEmpty()) {
+                emptySlots.add(slot);
+            } else {
+                addItemSlot(stackInSlot, slot);
+            }
+        }
+    }
+
+    @Nonnull
+    public ItemStack insertItemStacked(@Nonnull ItemStack stack, boolean simulate) {
+        if(stack.isEmpty()) {
+            return stack;
+        }
+        if(!stack.isStackable()) {
+            return ItemHandlerHelper.insertItem(itemHandler, stack, simulate);
+        }
+        //fill slots already containing this item first
+        TIntList itemSlots = slotsByItem.get(getItemKey(stack));
+        if(itemSlots != null) {
+            for(int i = 0; i < itemSlots.size(); i++) {
+                int slot = itemSlots.get(i);
+                if(ItemHandlerHelper.canItemStacksStackRelaxed(itemHandler.getStackInSlot(slot), stack)) {
+                    stack = itemHandler.insertItem(slot, stack, simulate);
+                    if(stack.isEmpty()) {
+                        return stack;
+                    }
+                }
+            }
+        }
+        //and put remainder into empty slots
+        for(int i = 0; i < emptySlots.size(); i++) {
+            int slot = emptySlots.get(i);
+            if(!itemHandler.getStackInSlot(slot).isEmpty()) continue;
+            stack = itemHandler.insertItem(slot, stack, simulate);
+            ItemStack stackInSlot = itemHandler.getStackInSlot(slot);
+            if(!simulate && !stackInSlot.isEmpty()) {
+                emptySlots.removeAt(i--);
+                addItemSlot(stackInSlot, slot);
+            }
+            if(stack.isEmpty()) {
+                return stack;
+            }
+        }
+        return stack;
+    }
+
+    private void addItemSlot(ItemStack stackInSlot, int slot) {
+        long itemKey = getItemKey(stackInSlot);
+        TIntList itemSlots = slotsByItem.get(itemKey);
+        if(itemSlots == null) {
+            itemSlots = new TIntArrayList(2);
+            slotsByItem.put(itemKey, itemSlots);
+        }
+        itemSlots.add(slot);
+    }
+
+    private static long getItemKey(ItemStack itemStack) {
+        return (long) Item.getIdFromItem(itemStack.getItem()) << 32 | itemStack.getItemDamage() & 0xFFFFFFFFL;
+    }
+}
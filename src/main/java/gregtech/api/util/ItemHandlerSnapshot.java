@@ -0,0 +1,50 @@
+package gregtech.api.util;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.IItemHandler;
+
+/**
+ * Copy of item handler contents taken at some moment, used to find out whether
+ * item handler contents have changed since then without simulating any operations on it
+ * Only slot contents are compared, so item handler wrappers created anew on every
+ * capability query are handled fine
+ */
+public class ItemHandlerSnapshot {
+
+    private static final ItemStack[] EMPTY_CONTENTS = new ItemStack[0];
+
+    private ItemStack[] slotContents = EMPTY_CONTENTS;
+    private boolean isValid = false;
+
+    public void update(IItemHandler itemHandler) {
+        int slots = itemHandler.getSlots();
+        if(slotContents.length != slots) {
+            this.slotContents = new ItemStack[slots];
+        }
+        for(int i = 0; i < slots; i++) {
+            //stacks are copied since most inventories modify them in place
+            slotContents[i] = itemHandler.getStackInSlot(i).copy();
+        }
+        this.isValid = true;
+    }
+
+    public void invalidate() {
+        this.isValid = false;
+        this.slotContents = EMPTY_CONTENTS;
+    }
+
+    /**
+     * @return true if snapshot was taken and contents of given item handler are equal to it
+     */
+    public boolean matches(IItemHandler itemHandler) {
+        if(!isValid || itemHandler.getSlots() != slotContents.length) {
+            return false;
+        }
+        for(int i = 0; i < slotContents.length; i++) {
+            if(!ItemStack.areItemStacksEqual(slotContents[i], itemHandler.getStackInSlot(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
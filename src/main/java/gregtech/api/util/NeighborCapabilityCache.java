@@ -0,0 +1,99 @@
+package gregtech.api.util;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.capabilities.Capability;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches tile entities adjacent to block per facing, so repeated transfers don't need to look tile entities up every time
+ * Capabilities are still requested from cached tile entities on each access, because tile entities can replace
+ * or change their capability objects without any block update, as example chest becoming double chest
+ * Owner is expected to call {@link #invalidate(EnumFacing)} when adjacent block changes,
+ * and {@link #invalidate()} when it is unloaded or invalidated itself
+ * Entries of invalidated tile entities and unloaded chunks are also dropped on access,
+ * because they are not always reported as neighbour changes
+ */
+public class NeighborCapabilityCache {
+
+    private final TileEntity[] neighbors = new TileEntity[EnumFacing.VALUES.length];
+    private final Chunk[] neighborChunks = new Chunk[EnumFacing.VALUES.length];
+
+    /**
+     * @return tile entity adjacent to given position on given side,
+     *         or null if there is no tile entity or it's chunk is not loaded
+     */
+    @Nullable
+    public TileEntity getNeighbor(World world, BlockPos pos, EnumFacing facing) {
+        int index = facing.getIndex();
+        if(!isEntryValid(index)) {
+            resolveNeighbor(world, pos, facing);
+        }
+        return neighbors[index];
+    }
+
+    /**
+     * @return capability of tile entity adjacent to given position on given side,
+     *         requested from the opposite side of that tile entity
+     */
+    @Nullable
+    public <T> T getCapability(World world, BlockPos pos, EnumFacing facing, Capability<T> capability) {
+        TileEntity tileEntity = getNeighbor(world, pos, facing);
+        if(tileEntity == null) {
+            return null;
+        }
+        return tileEntity.getCapability(capability, facing.getOpposite());
+    }
+
+    public void invalidate(EnumFacing facing) {
+        int index = facing.getIndex();
+        this.neighbors[index] = null;
+        this.neighborChunks[index] = null;
+    }
+
+    public void invalidate() {
+        for(EnumFacing facing : EnumFacing.VALUES) {
+            invalidate(facing);
+        }
+    }
+
+    /**
+     * Invalidates entry of the facing given position is located at,
+     * or all entries if given position isn't adjacent to owner position
+     */
+    public void invalidate(BlockPos pos, BlockPos neighborPos) {
+        for(EnumFacing facing : EnumFacing.VALUES) {
+            if(neighborPos.getX() - pos.getX() == facing.getFrontOffsetX() &&
+                neighborPos.getY() - pos.getY() == facing.getFrontOffsetY() &&
+                neighborPos.getZ() - pos.getZ() == facing.getFrontOffsetZ()) {
+                invalidate(facing);
+                return;
+            }
+        }
+        invalidate();
+    }
+
+    private boolean isEntryValid(int index) {
+        Chunk chunk = neighborChunks[index];
+        if(chunk == null || !chunk.isLoaded()) {
+            return false;
+        }
+        TileEntity tileEntity = neighbors[index];
+        return tileEntity == null || !tileEntity.isInvalid();
+    }
+
+    private void resolveNeighbor(World world, BlockPos pos, EnumFacing facing) {
+        invalidate(facing);
+        BlockPos neighborPos = pos.offset(facing);
+        if(!world.isBlockLoaded(neighborPos)) {
+            return;
+        }
+        int index = facing.getIndex();
+        this.neighbors[index] = world.getTileEntity(neighborPos);
+        this.neighborChunks[index] = world.getChunkFromBlockCoords(neighborPos);
+    }
+}
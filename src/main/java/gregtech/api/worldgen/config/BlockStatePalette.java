@@ -0,0 +1,65 @@
+package gregtech.api.worldgen.config;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Assigns dense palette indexes to block states seen by ore generation, through table indexed by
+ * {@link Block#getStateId(IBlockState)}, and memoizes deterministic block state predicates and fillers
+ * in lookup tables indexed by these palette indexes, so each of them is evaluated only once per state
+ * States not restored by their state id, as example ones with properties not stored in metadata,
+ * are never memoized and always evaluated directly
+ * Palette and lookup tables are filled lazily and are only accessed from server thread during world generation
+ */
+public class BlockStatePalette {
+
+    private static final int NOT_ASSIGNED = 0;
+
+    //palette index + 1 by state id, so zero means index wasn't assigned yet
+    private static int[] paletteIndexes = new int[256];
+    private static final List<IBlockState> paletteStates = new ArrayList<>();
+
+    /**
+     * @return palette index of given state, or -1 if it shouldn't be memoized
+     */
+    public static int getPaletteIndex(IBlockState blockState) {
+        int stateId = Block.getStateId(blockState);
+        if(stateId < 0) {
+            return -1;
+        }
+        if(stateId >= paletteIndexes.length) {
+            paletteIndexes = Arrays.copyOf(paletteIndexes, Math.max(stateId + 1, paletteIndexes.length * 2));
+        }
+        if(paletteIndexes[stateId] == NOT_ASSIGNED) {
+            paletteStates.add(blockState);
+            paletteIndexes[stateId] = paletteStates.size();
+            return paletteStates.size() - 1;
+        }
+        int paletteIndex = paletteIndexes[stateId] - 1;
+        //other state with the same id was assigned this index, so given one can't be memoized
+        return paletteStates.get(paletteIndex) == blockState ? paletteIndex : -1;
+    }
+
+    /**
+     * @return function returning results of given one, evaluating it only once per block state
+     *         given function should be deterministic, null results are never memoized
+     */
+    public static <T> Function<IBlockState, T> memoizeFunction(Function<IBlockState, T> function) {
+        return new MemoizedFunction<>(function);
+    }
+
+    /**
+     * @return predicate returning results of given one, evaluating it only once per block state
+     *         given predicate should be deterministic
+     */
+    public static Predicate<IBlockState> memoizePredicate(Predicate<IBlockState> predicate) {
+        Function<IBlockState, Boolean> memoizedFunction = memoizeFunction(predicate::test);
+        return blockState -> memoizedFunction.apply(blockState);
+    }
+}
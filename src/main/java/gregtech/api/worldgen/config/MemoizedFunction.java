@@ -0,0 +1,37 @@
+package gregtech.api.worldgen.config;
+
+import net.minecraft.block.state.IBlockState;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Block state function with results stored in lookup table indexed by {@link BlockStatePalette} indexes
+ */
+class MemoizedFunction<T> implements Function<IBlockState, T> {
+
+    private final Function<IBlockState, T> function;
+    private Object[] results = new Object[16];
+
+    MemoizedFunction(Function<IBlockState, T> function) {
+        this.function = function;
+    }
+
+    @Override
+    public T apply(IBlockState blockState) {
+        int paletteIndex = BlockStatePalette.getPaletteIndex(blockState);
+        if(paletteIndex < 0) {
+            return function.apply(blockState);
+        }
+        if(paletteIndex >= results.length) {
+            this.results = Arrays.copyOf(results, Math.max(paletteIndex + 1, results.length * 2));
+        }
+        //noinspection unchecked
+        T result = (T) results[paletteIndex];
+        if(result == null) {
+            result = function.apply(blockState);
+            this.results[paletteIndex] = result;
+        }
+        return result;
+    }
+}
@@ -157,7 +157,7 @@ public class OreConfigUtils {
             return state -> fluidBlock.getDefaultState();
         } else if(stringDeclaration.startsWith("ore:")) {
             Map<StoneType, IBlockState> blockStateMap = getOreStateMap(stringDeclaration);
-            return stoneState -> {
+            return BlockStatePalette.memoizeFunction(stoneState -> {
                 StoneType stoneType = StoneType.computeStoneType(stoneState);
                 //use stone as fallback stone type for ore type defining
                 if(stoneType == null) {
@@ -167,7 +167,7 @@ public class OreConfigUtils {
                 if(!blockStateMap.containsKey(stoneType))
                     stoneType = blockStateMap.keySet().iterator().next();
                 return blockStateMap.get(stoneType);
-            };
+            });
         } else if(stringDeclaration.startsWith("ore_dict:")) {
             String oreDictName = stringDeclaration.substring(9);
             IBlockState firstBlock = getOreDictBlocks(oreDictName).get(0);
@@ -184,7 +184,7 @@ public class OreConfigUtils {
             if(!valueDefinition.isJsonObject())
                 throw new IllegalArgumentException("Found invalid value definition: " + valueDefinition);
             JsonObject valueObject = valueDefinition.getAsJsonObject();
-            Predicate<IBlockState> predicate = createBlockStatePredicate(valueObject.get("predicate"));
+            Predicate<IBlockState> predicate = parseBlockStatePredicate(valueObject.get("predicate"));
             Function<IBlockState, IBlockState> filler = createBlockStateFiller(valueObject.get("value"));
             matchers.add(new SimpleEntry<>(predicate, filler));
         }
@@ -196,16 +196,17 @@ public class OreConfigUtils {
             //add default element if it isn't defined, to avoid issues
             matchers.add(new SimpleEntry<>(state -> true, state -> Blocks.AIR.getDefaultState()));
         }
-        return state -> {
+        //predicates are deterministic, so matched filler is selected only once per state
+        //filler itself is still applied every time, since it can be random
+        Function<IBlockState, Function<IBlockState, IBlockState>> fillerSelector = BlockStatePalette.memoizeFunction(state -> {
             for(Entry<Predicate<IBlockState>, Function<IBlockState, IBlockState>> matchEntry : matchers) {
-                Predicate<IBlockState> predicate = matchEntry.getKey();
-                Function<IBlockState, IBlockState> filler = matchEntry.getValue();
-                if(predicate.test(state))
-                    return filler.apply(state);
+                if(matchEntry.getKey().test(state))
+                    return matchEntry.getValue();
             }
             //if this will happen somehow (even if it's impossible, call latest filler)
-            return matchers.get(matchers.size() - 1).getValue().apply(state);
-        };
+            return matchers.get(matchers.size() - 1).getValue();
+        });
+        return state -> fillerSelector.apply(state).apply(state);
     }
 
     private static Function<IBlockState, IBlockState> createStoneTypeMatchFiller(JsonObject object) {
@@ -215,18 +216,19 @@ public class OreConfigUtils {
             if(stoneTypeDefinition.isJsonNull()) continue;
             stateByStoneType.put(stoneType, createBlockStateFiller(stoneTypeDefinition));
         }
-        return state -> {
+        Function<IBlockState, Function<IBlockState, IBlockState>> fillerSelector = BlockStatePalette.memoizeFunction(state -> {
             StoneType stoneType = StoneType.computeStoneType(state);
             if(stoneType == null || !stateByStoneType.containsKey(stoneType)) {
                 //fallback to stone, if stone is not here, then to the first registered type
                 if(stateByStoneType.containsKey(StoneTypes.STONE)) {
-                   return stateByStoneType.get(StoneTypes.STONE).apply(state);
+                   return stateByStoneType.get(StoneTypes.STONE);
                 }
                 //otherwise, select first specified block
-                return stateByStoneType.values().iterator().next().apply(state);
+                return stateByStoneType.values().iterator().next();
             }
-            return stateByStoneType.get(stoneType).apply(state);
-        };
+            return stateByStoneType.get(stoneType);
+        });
+        return state -> fillerSelector.apply(state).apply(state);
     }
 
     private static final Random blockStateRandom = new XSTR();
@@ -300,6 +302,10 @@ public class OreConfigUtils {
     }
 
     public static Predicate<IBlockState> createBlockStatePredicate(JsonElement element) {
+        return BlockStatePalette.memoizePredicate(parseBlockStatePredicate(element));
+    }
+
+    private static Predicate<IBlockState> parseBlockStatePredicate(JsonElement element) {
         if(element instanceof JsonPrimitive) {
             String stringDeclaration = element.getAsString();
             return createSimpleStatePredicate(stringDeclaration);
@@ -312,7 +318,7 @@ public class OreConfigUtils {
             JsonArray array = element.getAsJsonArray();
             ArrayList<Predicate<IBlockState>> allPredicates = new ArrayList<>();
             for(JsonElement arrayElement : array) {
-                allPredicates.add(createBlockStatePredicate(arrayElement));
+                allPredicates.add(parseBlockStatePredicate(arrayElement));
             }
             return state -> allPredicates.stream().anyMatch(p -> p.test(state));
         } else {
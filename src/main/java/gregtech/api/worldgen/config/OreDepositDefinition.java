@@ -29,7 +29,7 @@ public class OreDepositDefinition {
 
     public static final Function<Biome, Integer> NO_BIOME_INFLUENCE = biome -> 0;
     public static final Predicate<WorldProvider> PREDICATE_SURFACE_WORLD = WorldProvider::isSurfaceWorld;
-    public static final Predicate<IBlockState> PREDICATE_STONE_TYPE = state -> StoneType.computeStoneType(state) != null;
+    public static final Predicate<IBlockState> PREDICATE_STONE_TYPE = BlockStatePalette.memoizePredicate(state -> StoneType.computeStoneType(state) != null);
 
     private final String depositName;
 
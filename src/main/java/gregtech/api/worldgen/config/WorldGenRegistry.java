@@ -21,6 +21,7 @@ import org.apache.commons.io.IOUtils;
 import stanhebben.zenscript.annotations.ZenClass;
 import stanhebben.zenscript.annotations.ZenGetter;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -46,6 +47,7 @@ public class WorldGenRegistry {
 
     private final List<OreDepositDefinition> registeredDefinitions = new ArrayList<>();
     private final Map<WorldProvider, WorldOreVeinCache> oreVeinCache = new WeakHashMap<>();
+    private int definitionsHash;
 
     private class WorldOreVeinCache {
         private final List<OreDepositDefinition> worldVeins;
@@ -100,6 +102,7 @@ public class WorldGenRegistry {
         GTLog.logger.info("Reloading ore generation files from config...");
         registeredDefinitions.clear();
         oreVeinCache.clear();
+        this.definitionsHash = 0;
         Path configPath = Loader.instance().getConfigDir().toPath().resolve(GTValues.MODID);
         Path worldgenRootPath = configPath.resolve("worldgen");
         Path jarFileExtractLockOld = configPath.resolve(".worldgen_extracted");
@@ -129,6 +132,9 @@ public class WorldGenRegistry {
                     OreDepositDefinition deposit = new OreDepositDefinition(depositName);
                     deposit.initializeFromConfig(element);
                     registeredDefinitions.add(deposit);
+                    //definition order affects generation too, so hash is order-dependent
+                    this.definitionsHash = 31 * definitionsHash + depositName.hashCode();
+                    this.definitionsHash = 31 * definitionsHash + element.toString().hashCode();
                 }
             } catch (IOException exception) {
                 GTLog.logger.error("Failed to load worldgen definition file on path {}", worldgenDefinition, exception);
@@ -204,6 +210,22 @@ public class WorldGenRegistry {
         return blockFiller;
     }
 
+    @Nullable
+    public OreDepositDefinition getDepositDefinition(String depositName) {
+        for(OreDepositDefinition definition : registeredDefinitions) {
+            if(definition.getDepositName().equals(depositName))
+                return definition;
+        }
+        return null;
+    }
+
+    /**
+     * @return hash of all loaded deposit definitions, changing whenever they are edited, added or removed
+     */
+    public int getDefinitionsHash() {
+        return definitionsHash;
+    }
+
     @ZenGetter("oreDeposits")
     public static List<OreDepositDefinition> getOreDeposits() {
         return Collections.unmodifiableList(INSTANCE.registeredDefinitions);
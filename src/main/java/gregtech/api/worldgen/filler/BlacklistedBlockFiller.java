@@ -5,6 +5,7 @@ import com.google.gson.JsonObject;
 import crafttweaker.annotations.ZenRegister;
 import crafttweaker.api.minecraft.CraftTweakerMC;
 import gregtech.api.GTValues;
+import gregtech.api.worldgen.config.BlockStatePalette;
 import gregtech.api.worldgen.config.OreConfigUtils;
 import net.minecraft.block.state.IBlockState;
 import net.minecraftforge.fml.common.Optional.Method;
@@ -13,6 +14,7 @@ import stanhebben.zenscript.annotations.ZenGetter;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @ZenClass("mods.gregtech.ore.filter.BlacklistedBlockFilter")
@@ -21,13 +23,15 @@ public class BlacklistedBlockFiller extends BlockFiller {
 
     private Function<IBlockState, IBlockState> blockStateFiller;
     private List<IBlockState> blacklist;
+    private Predicate<IBlockState> blacklistPredicate;
 
     public BlacklistedBlockFiller(List<IBlockState> blacklist) {
         this.blacklist = blacklist;
+        this.blacklistPredicate = BlockStatePalette.memoizePredicate(this::isBlacklisted);
     }
 
     public BlacklistedBlockFiller(List<IBlockState> blacklist, Function<IBlockState, IBlockState> blockStateFiller) {
-        this.blacklist = blacklist;
+        this(blacklist);
         this.blockStateFiller = blockStateFiller;
     }
 
@@ -50,12 +54,19 @@ public class BlacklistedBlockFiller extends BlockFiller {
 
     @Override
     public IBlockState getStateForGeneration(IBlockState currentState, int x, int y, int z) {
+        if (blacklistPredicate.test(currentState)) {
+            return currentState;
+        }
+        return blockStateFiller.apply(currentState);
+    }
+
+    private boolean isBlacklisted(IBlockState currentState) {
         for (IBlockState blockState : blacklist) {
             if (blockState == currentState) {
-                return currentState;
+                return true;
             }
         }
-        return blockStateFiller.apply(currentState);
+        return false;
     }
 
     @Override
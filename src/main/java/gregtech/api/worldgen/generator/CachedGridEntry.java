@@ -3,42 +3,166 @@ package gregtech.api.worldgen.generator;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import gnu.trove.list.TLongList;
 import gnu.trove.list.array.TLongArrayList;
 import gnu.trove.map.TLongObjectMap;
 import gnu.trove.map.hash.TLongObjectHashMap;
+import gregtech.api.util.GTLog;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.XSTR;
 import gregtech.api.worldgen.config.OreDepositDefinition;
 import gregtech.api.worldgen.config.WorldGenRegistry;
 import gregtech.common.ConfigHolder;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.common.util.Constants.NBT;
 
+import javax.annotation.Nullable;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
 public class CachedGridEntry implements IBlockGeneratorAccess {
 
+    private static final int MAX_PENDING_ENTRIES = 64;
+
     private static final Map<World, LoadingCache<Long, CachedGridEntry>> gridEntryCache = new WeakHashMap<>();
+    //grid entries scheduled for computation on worker threads, accessed only from server thread
+    private static final Map<World, Map<Long, FutureTask<CachedGridEntry>>> pendingGridEntries = new WeakHashMap<>();
+    private static ExecutorService precomputeExecutor;
 
+    /**
+     * Returns grid entry for given grid, taking it from memory cache, persistent vein store, or computing it
+     */
     public static CachedGridEntry getOrCreateEntry(World world, int gridX, int gridZ) {
+        Long gridEntryKey = (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
+        return getGridCache(world).getUnchecked(gridEntryKey);
+    }
+
+    /**
+     * Schedules computation of grid entries in given radius around given grid on worker threads,
+     * so they are ready by the time chunks in them are populated. Entries which are already computed
+     * or scheduled are skipped. Does nothing if ore vein precomputation is disabled in config
+     */
+    public static void prefetchEntries(World world, int centerGridX, int centerGridZ, int radius) {
+        ExecutorService executor = getPrecomputeExecutor();
+        if(executor == null) return;
+        LoadingCache<Long, CachedGridEntry> gridCache = getGridCache(world);
+        Map<Long, FutureTask<CachedGridEntry>> pendingEntries = getPendingEntries(world);
+        collectFinishedEntries(world, gridCache, pendingEntries);
+        for(int gridX = centerGridX - radius; gridX <= centerGridX + radius; gridX++) {
+            for(int gridZ = centerGridZ - radius; gridZ <= centerGridZ + radius; gridZ++) {
+                Long gridEntryKey = (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
+                if(pendingEntries.size() >= MAX_PENDING_ENTRIES) return;
+                if(pendingEntries.containsKey(gridEntryKey) || gridCache.getIfPresent(gridEntryKey) != null) continue;
+                CachedGridEntry storedEntry = readStoredEntry(world, gridX, gridZ);
+                if(storedEntry != null) {
+                    gridCache.put(gridEntryKey, storedEntry);
+                    continue;
+                }
+                //biome providers aren't thread-safe, so everything depending on world is resolved here
+                List<Entry<Integer, OreDepositDefinition>> depositMap = getBiomeVeins(world, gridX, gridZ);
+                long worldSeed = world.getSeed();
+                int maxHeight = world.getActualHeight();
+                int entryGridX = gridX, entryGridZ = gridZ;
+                FutureTask<CachedGridEntry> gridEntryTask = new FutureTask<>(() ->
+                    new CachedGridEntry(worldSeed, entryGridX, entryGridZ, depositMap, maxHeight));
+                pendingEntries.put(gridEntryKey, gridEntryTask);
+                executor.execute(gridEntryTask);
+            }
+        }
+    }
+
+    private static void collectFinishedEntries(World world, LoadingCache<Long, CachedGridEntry> gridCache, Map<Long, FutureTask<CachedGridEntry>> pendingEntries) {
+        Iterator<Entry<Long, FutureTask<CachedGridEntry>>> iterator = pendingEntries.entrySet().iterator();
+        while(iterator.hasNext()) {
+            Entry<Long, FutureTask<CachedGridEntry>> pendingEntry = iterator.next();
+            if(pendingEntry.getValue().isDone()) {
+                iterator.remove();
+                CachedGridEntry gridEntry = awaitPendingEntry(pendingEntry.getValue());
+                if(gridEntry != null) {
+                    gridCache.put(pendingEntry.getKey(), gridEntry);
+                    writeStoredEntry(world, gridEntry);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static CachedGridEntry awaitPendingEntry(FutureTask<CachedGridEntry> pendingEntry) {
+        //compute entry on current thread if no worker has started it yet, otherwise wait for worker to finish it
+        pendingEntry.run();
+        try {
+            return pendingEntry.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException exception) {
+            GTLog.logger.error("Failed to precompute ore veins", exception.getCause());
+            return null;
+        }
+    }
+
+    @Nullable
+    private static CachedGridEntry readStoredEntry(World world, int gridX, int gridZ) {
+        OreVeinStore veinStore = OreVeinStore.getStore(world);
+        NBTTagCompound entryTag = veinStore == null ? null : veinStore.readEntry(gridX, gridZ);
+        return entryTag == null ? null : deserializeNBT(gridX, gridZ, entryTag);
+    }
+
+    private static void writeStoredEntry(World world, CachedGridEntry gridEntry) {
+        OreVeinStore veinStore = OreVeinStore.getStore(world);
+        if(veinStore != null) {
+            veinStore.writeEntry(gridEntry.gridX, gridEntry.gridZ, gridEntry.serializeNBT());
+        }
+    }
+
+    @Nullable
+    private static ExecutorService getPrecomputeExecutor() {
+        if(ConfigHolder.oreVeinPrecomputeThreads <= 0) {
+            return null;
+        }
+        if(precomputeExecutor == null) {
+            precomputeExecutor = Executors.newFixedThreadPool(ConfigHolder.oreVeinPrecomputeThreads,
+                new ThreadFactoryBuilder()
+                    .setNameFormat("GregTech Ore Vein Worker #%d")
+                    .setDaemon(true)
+                    .setPriority(Thread.MIN_PRIORITY)
+                    .build());
+        }
+        return precomputeExecutor;
+    }
+
+    private static Map<Long, FutureTask<CachedGridEntry>> getPendingEntries(World world) {
+        return pendingGridEntries.computeIfAbsent(world, k -> new HashMap<>());
+    }
+
+    private static LoadingCache<Long, CachedGridEntry> getGridCache(World world) {
         LoadingCache<Long, CachedGridEntry> currentValue = gridEntryCache.get(world);
         if(currentValue == null) {
             currentValue = createGridCache(world);
             gridEntryCache.put(world, currentValue);
         }
-        Long gridEntryKey = (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
-        return currentValue.getUnchecked(gridEntryKey);
+        return currentValue;
     }
 
     private static LoadingCache<Long, CachedGridEntry> createGridCache(World world) {
         return CacheBuilder.newBuilder()
-            .maximumSize(300)
+            .maximumSize(ConfigHolder.oreVeinCacheSize)
             .expireAfterAccess(5L, TimeUnit.MINUTES)
             .build(new CacheLoader<Long, CachedGridEntry>() {
                 @Override
@@ -46,7 +170,17 @@ public class CachedGridEntry implements IBlockGeneratorAccess {
                     long actualKey = key;
                     int gridX = (int) (actualKey >> 32);
                     int gridZ = (int) actualKey;
-                    return new CachedGridEntry(world, gridX, gridZ);
+                    FutureTask<CachedGridEntry> pendingEntry = getPendingEntries(world).remove(key);
+                    CachedGridEntry gridEntry = pendingEntry == null ? null : awaitPendingEntry(pendingEntry);
+                    if(gridEntry == null) {
+                        gridEntry = readStoredEntry(world, gridX, gridZ);
+                        if(gridEntry != null) {
+                            return gridEntry;
+                        }
+                        gridEntry = new CachedGridEntry(world, gridX, gridZ);
+                    }
+                    writeStoredEntry(world, gridEntry);
+                    return gridEntry;
                 }
             });
     }
@@ -64,18 +198,78 @@ public class CachedGridEntry implements IBlockGeneratorAccess {
     private OreDepositDefinition currentOreVein;
 
     public CachedGridEntry(World world, int gridX, int gridZ) {
+        this(world.getSeed(), gridX, gridZ, getBiomeVeins(world, gridX, gridZ), world.getActualHeight());
+    }
+
+    /**
+     * Computes grid entry without accessing world, so it can be done off the server thread
+     */
+    private CachedGridEntry(long worldSeed, int gridX, int gridZ, List<Entry<Integer, OreDepositDefinition>> depositMap, int maxHeight) {
         this.gridX = gridX;
         this.gridZ = gridZ;
-        long gridRandomSeed = Objects.hash(gridX, gridZ) ^ world.getSeed();
+        long gridRandomSeed = Objects.hash(gridX, gridZ) ^ worldSeed;
         this.gridRandom = new XSTR(gridRandomSeed);
+        this.cachedDepositMap = new ArrayList<>(depositMap);
+        this.maxHeight = maxHeight;
+        this.generatedVeins = triggerVeinsGeneration();
+    }
+
+    /**
+     * Restores grid entry from stored data, without generating anything
+     */
+    private CachedGridEntry(int gridX, int gridZ, List<OreDepositDefinition> generatedVeins) {
+        this.gridX = gridX;
+        this.gridZ = gridZ;
+        this.gridRandom = null;
+        this.cachedDepositMap = Collections.emptyList();
+        this.generatedVeins = generatedVeins;
+    }
 
+    public NBTTagCompound serializeNBT() {
+        NBTTagCompound tagCompound = new NBTTagCompound();
+        NBTTagList veinsList = new NBTTagList();
+        for(OreDepositDefinition definition : generatedVeins) {
+            veinsList.appendTag(new NBTTagString(definition.getDepositName()));
+        }
+        tagCompound.setTag("Veins", veinsList);
+        NBTTagList chunksList = new NBTTagList();
+        for(ChunkDataEntry dataEntry : dataByChunkPos.valueCollection()) {
+            chunksList.appendTag(dataEntry.serializeNBT(generatedVeins));
+        }
+        tagCompound.setTag("Chunks", chunksList);
+        return tagCompound;
+    }
+
+    /**
+     * @return restored grid entry, or null if it references ore deposits which are not registered
+     */
+    @Nullable
+    public static CachedGridEntry deserializeNBT(int gridX, int gridZ, NBTTagCompound tagCompound) {
+        NBTTagList veinsList = tagCompound.getTagList("Veins", NBT.TAG_STRING);
+        List<OreDepositDefinition> generatedVeins = new ArrayList<>();
+        for(int i = 0; i < veinsList.tagCount(); i++) {
+            OreDepositDefinition definition = WorldGenRegistry.INSTANCE.getDepositDefinition(veinsList.getStringTagAt(i));
+            if(definition == null) {
+                return null;
+            }
+            generatedVeins.add(definition);
+        }
+        CachedGridEntry gridEntry = new CachedGridEntry(gridX, gridZ, generatedVeins);
+        NBTTagList chunksList = tagCompound.getTagList("Chunks", NBT.TAG_COMPOUND);
+        for(int i = 0; i < chunksList.tagCount(); i++) {
+            ChunkDataEntry dataEntry = ChunkDataEntry.deserializeNBT(chunksList.getCompoundTagAt(i), generatedVeins);
+            long chunkKey = (long) dataEntry.chunkX << 32 | dataEntry.chunkZ & 0xFFFFFFFFL;
+            gridEntry.dataByChunkPos.put(chunkKey, dataEntry);
+        }
+        return gridEntry;
+    }
+
+    private static List<Entry<Integer, OreDepositDefinition>> getBiomeVeins(World world, int gridX, int gridZ) {
         int gridSizeX = WorldGeneratorImpl.GRID_SIZE_X * 16;
         int gridSizeZ = WorldGeneratorImpl.GRID_SIZE_Z * 16;
         BlockPos blockPos = new BlockPos(gridX * gridSizeX + gridSizeX / 2, world.getActualHeight(), gridZ * gridSizeZ + gridSizeZ / 2);
         Biome currentBiome = world.getBiomeProvider().getBiome(blockPos);
-        this.cachedDepositMap = new ArrayList<>(WorldGenRegistry.INSTANCE.getCachedBiomeVeins(world.provider, currentBiome));
-        this.maxHeight = world.getActualHeight();
-        this.generatedVeins = triggerVeinsGeneration();
+        return WorldGenRegistry.INSTANCE.getCachedBiomeVeins(world.provider, currentBiome);
     }
 
     public List<OreDepositDefinition> getGeneratedVeins() {
@@ -184,26 +378,97 @@ public class CachedGridEntry implements IBlockGeneratorAccess {
             longList.add(blockIndex);
         }
 
+        public NBTTagCompound serializeNBT(List<OreDepositDefinition> veinPalette) {
+            NBTTagCompound tagCompound = new NBTTagCompound();
+            tagCompound.setInteger("X", chunkX);
+            tagCompound.setInteger("Z", chunkZ);
+            NBTTagList blocksList = new NBTTagList();
+            for(Entry<OreDepositDefinition, TLongList> entry : oreBlocks.entrySet()) {
+                TLongList blockIndexes = entry.getValue();
+                //local coordinates fit into 4 bits each, leaving 24 bits for height
+                int[] packedIndexes = new int[blockIndexes.size()];
+                for(int i = 0; i < packedIndexes.length; i++) {
+                    long blockIndex = blockIndexes.get(i);
+                    int xzValue = (int) (blockIndex >> 32);
+                    packedIndexes[i] = (xzValue >> 8 & 0xF) << 28 | (xzValue & 0xF) << 24 | (int) blockIndex & 0xFFFFFF;
+                }
+                NBTTagCompound blocksTag = new NBTTagCompound();
+                blocksTag.setInteger("Vein", veinPalette.indexOf(entry.getKey()));
+                blocksTag.setIntArray("Indexes", packedIndexes);
+                blocksList.appendTag(blocksTag);
+            }
+            tagCompound.setTag("Blocks", blocksList);
+            return tagCompound;
+        }
+
+        public static ChunkDataEntry deserializeNBT(NBTTagCompound tagCompound, List<OreDepositDefinition> veinPalette) {
+            ChunkDataEntry dataEntry = new ChunkDataEntry(tagCompound.getInteger("X"), tagCompound.getInteger("Z"));
+            NBTTagList blocksList = tagCompound.getTagList("Blocks", NBT.TAG_COMPOUND);
+            for(int i = 0; i < blocksList.tagCount(); i++) {
+                NBTTagCompound blocksTag = blocksList.getCompoundTagAt(i);
+                OreDepositDefinition definition = veinPalette.get(blocksTag.getInteger("Vein"));
+                for(int packedIndex : blocksTag.getIntArray("Indexes")) {
+                    //shift height back and forth to restore its sign
+                    dataEntry.setBlock(packedIndex >>> 28, packedIndex << 8 >> 8, packedIndex >>> 24 & 0xF, definition);
+                }
+            }
+            return dataEntry;
+        }
+
+        /**
+         * Places ore blocks of this chunk, writing them directly into chunk sections
+         * Lighting and height map are recalculated once per chunk afterwards, and only if
+         * any placed block differs from replaced one in light opacity or emitted light
+         */
         public boolean populateChunk(World world) {
+            Chunk chunk = world.getChunkFromChunkCoords(chunkX, chunkZ);
+            ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
             MutableBlockPos blockPos = new MutableBlockPos();
             boolean generatedAnything = false;
-            for(OreDepositDefinition definition : oreBlocks.keySet()) {
-                long[] blockIndexArray = oreBlocks.get(definition).toArray();
-                for(long blockIndex : blockIndexArray) {
+            boolean lightingChanged = false;
+            for(Entry<OreDepositDefinition, TLongList> entry : oreBlocks.entrySet()) {
+                OreDepositDefinition definition = entry.getKey();
+                TLongList blockIndexes = entry.getValue();
+                for(int i = 0; i < blockIndexes.size(); i++) {
+                    long blockIndex = blockIndexes.get(i);
                     int xzValue = (int) (blockIndex >> 32);
                     int blockY = (int) blockIndex;
                     int blockX = (byte) (xzValue >> 8);
                     int blockZ = (byte) xzValue;
-                    blockPos.setPos(chunkX * 16 + blockX, blockY, chunkZ * 16 + blockZ);
-                    IBlockState currentState = world.getBlockState(blockPos);
+                    if(blockY < 0 || blockY >= storageArray.length * 16)
+                        continue; //blocks outside of world can't be placed anyway
+                    ExtendedBlockStorage storage = storageArray[blockY >> 4];
+                    IBlockState currentState = storage == Chunk.NULL_BLOCK_STORAGE ?
+                        Blocks.AIR.getDefaultState() : storage.get(blockX, blockY & 15, blockZ);
                     if(!definition.getGenerationPredicate().test(currentState))
                         continue; //do not generate if predicate didn't match
                     IBlockState newState = definition.getBlockFiller().getStateForGeneration(currentState, blockX, blockY, blockZ);
-                    //set flags as 16 to avoid observer updates loading neighbour chunks
-                    world.setBlockState(blockPos, newState, 16);
+                    if(currentState.getBlock().hasTileEntity(currentState) || newState.getBlock().hasTileEntity(newState)) {
+                        //tile entities need to be created and removed by world, so fall back to normal block placement
+                        //set flags as 16 to avoid observer updates loading neighbour chunks
+                        blockPos.setPos(chunkX * 16 + blockX, blockY, chunkZ * 16 + blockZ);
+                        world.setBlockState(blockPos, newState, 16);
+                        generatedAnything = true;
+                        continue;
+                    }
+                    if(storage == Chunk.NULL_BLOCK_STORAGE) {
+                        storage = new ExtendedBlockStorage(blockY >> 4 << 4, world.provider.hasSkyLight());
+                        storageArray[blockY >> 4] = storage;
+                    }
+                    storage.set(blockX, blockY & 15, blockZ, newState);
+                    lightingChanged |= currentState.getLightOpacity() != newState.getLightOpacity() ||
+                        currentState.getLightValue() != newState.getLightValue();
                     generatedAnything = true;
                 }
             }
+            if(lightingChanged) {
+                chunk.generateSkylightMap();
+                //let chunk re-check block light gradually, as it does for freshly loaded chunks
+                chunk.resetRelightChecks();
+            }
+            if(generatedAnything) {
+                chunk.markDirty();
+            }
             return generatedAnything;
         }
 
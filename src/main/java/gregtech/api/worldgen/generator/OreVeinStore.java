@@ -0,0 +1,207 @@
+package gregtech.api.worldgen.generator;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import gregtech.api.util.GTLog;
+import gregtech.api.worldgen.config.WorldGenRegistry;
+import gregtech.common.ConfigHolder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.RegionFile;
+
+import javax.annotation.Nullable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Persistent store of computed ore vein grids of single dimension
+ * Grids are stored in region files of {@link #REGION_SIZE}x{@link #REGION_SIZE} grids, each grid
+ * occupying it's own sectors, like chunks in vanilla region files, so only changed grids are ever written
+ * Files are stored in directory specific to world seed and worldgen configuration, so changing
+ * any of them never makes stale layouts to be used
+ * Written grids are kept in memory only until they are handed over to writer thread, which happens
+ * on world save, or earlier if more than {@link #MAX_PENDING_ENTRIES} grids are waiting to be written
+ */
+public class OreVeinStore {
+
+    private static final int REGION_SIZE = 32;
+    private static final int MAX_PENDING_ENTRIES = 64;
+
+    private static final Map<World, OreVeinStore> worldStores = new WeakHashMap<>();
+    private static ExecutorService writeExecutor;
+
+    private final File storeDirectory;
+    //entries which weren't written yet, including ones queued on writer thread, so reads always see them
+    private final Map<Long, NBTTagCompound> unsavedEntries = new ConcurrentHashMap<>();
+    //entries changed since they were last handed over to writer thread
+    private final Set<Long> dirtyEntries = new HashSet<>();
+    //region files are accessed from both server and writer threads, access is synchronized on this map
+    private final Map<Long, RegionFile> regionFiles = new HashMap<>();
+
+    private OreVeinStore(File storeDirectory) {
+        this.storeDirectory = storeDirectory;
+    }
+
+    /**
+     * @return vein store of given world, or null if persistent vein layouts are disabled or world is not a server one
+     */
+    @Nullable
+    public static OreVeinStore getStore(World world) {
+        if(!ConfigHolder.persistOreVeinLayouts || !(world instanceof WorldServer)) {
+            return null;
+        }
+        OreVeinStore veinStore = worldStores.get(world);
+        if(veinStore == null) {
+            int configHash = Objects.hash(WorldGenRegistry.INSTANCE.getDefinitionsHash(),
+                ConfigHolder.minVeinsInSection, ConfigHolder.additionalVeinsInSection);
+            String directoryName = Long.toHexString(world.getSeed()) + "_" + Integer.toHexString(configHash);
+            File veinsDirectory = new File(((WorldServer) world).getChunkSaveLocation(), "gregtech/ore_veins");
+            veinStore = new OreVeinStore(new File(veinsDirectory, directoryName));
+            worldStores.put(world, veinStore);
+        }
+        return veinStore;
+    }
+
+    public static void onWorldSave(World world) {
+        OreVeinStore veinStore = worldStores.get(world);
+        if(veinStore != null) {
+            veinStore.saveDirtyEntries();
+        }
+    }
+
+    public static void onWorldUnload(World world) {
+        OreVeinStore veinStore = worldStores.remove(world);
+        if(veinStore != null) {
+            veinStore.saveDirtyEntries();
+            //wait for queued writes, so files are complete and closed before world is gone
+            Future<?> closeTask = getWriteExecutor().submit(veinStore::closeRegionFiles);
+            try {
+                closeTask.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException exception) {
+                GTLog.logger.error("Failed to close ore vein region files", exception.getCause());
+            }
+        }
+    }
+
+    @Nullable
+    public NBTTagCompound readEntry(int gridX, int gridZ) {
+        NBTTagCompound entryTag = unsavedEntries.get(getEntryKey(gridX, gridZ));
+        if(entryTag != null) {
+            return entryTag;
+        }
+        try {
+            RegionFile regionFile = getRegionFile(gridX, gridZ);
+            DataInputStream inputStream = regionFile.getChunkDataInputStream(
+                Math.floorMod(gridX, REGION_SIZE), Math.floorMod(gridZ, REGION_SIZE));
+            if(inputStream == null) {
+                return null;
+            }
+            try {
+                return CompressedStreamTools.read(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException exception) {
+            GTLog.logger.error("Failed to read ore vein grid {} {} from {}", gridX, gridZ, storeDirectory, exception);
+            return null;
+        }
+    }
+
+    /**
+     * Stores given entry, entry tag should not be modified afterwards, since it can be written from other thread
+     */
+    public void writeEntry(int gridX, int gridZ, NBTTagCompound entryTag) {
+        long entryKey = getEntryKey(gridX, gridZ);
+        unsavedEntries.put(entryKey, entryTag);
+        dirtyEntries.add(entryKey);
+        if(dirtyEntries.size() > MAX_PENDING_ENTRIES) {
+            saveDirtyEntries();
+        }
+    }
+
+    /**
+     * Hands all changed entries over to writer thread
+     */
+    public void saveDirtyEntries() {
+        if(dirtyEntries.isEmpty()) return;
+        ExecutorService executor = getWriteExecutor();
+        for(long entryKey : dirtyEntries) {
+            NBTTagCompound entryTag = unsavedEntries.get(entryKey);
+            executor.execute(() -> saveEntry(entryKey, entryTag));
+        }
+        dirtyEntries.clear();
+    }
+
+    private void saveEntry(long entryKey, NBTTagCompound entryTag) {
+        int gridX = (int) (entryKey >> 32);
+        int gridZ = (int) entryKey;
+        try {
+            RegionFile regionFile = getRegionFile(gridX, gridZ);
+            //region file writes whole entry into it's sectors when stream is closed
+            try(DataOutputStream outputStream = regionFile.getChunkDataOutputStream(
+                Math.floorMod(gridX, REGION_SIZE), Math.floorMod(gridZ, REGION_SIZE))) {
+                CompressedStreamTools.write(entryTag, outputStream);
+            }
+        } catch (IOException exception) {
+            GTLog.logger.error("Failed to write ore vein grid {} {} into {}", gridX, gridZ, storeDirectory, exception);
+        }
+        //keep entry if it was replaced while it was being written, it will be written again
+        unsavedEntries.remove(entryKey, entryTag);
+    }
+
+    private RegionFile getRegionFile(int gridX, int gridZ) throws IOException {
+        int regionX = Math.floorDiv(gridX, REGION_SIZE);
+        int regionZ = Math.floorDiv(gridZ, REGION_SIZE);
+        Long regionKey = (long) regionX << 32 | regionZ & 0xFFFFFFFFL;
+        synchronized (regionFiles) {
+            RegionFile regionFile = regionFiles.get(regionKey);
+            if(regionFile == null) {
+                if(!storeDirectory.exists() && !storeDirectory.mkdirs()) {
+                    throw new IOException("Failed to create directory " + storeDirectory);
+                }
+                regionFile = new RegionFile(new File(storeDirectory, "r." + regionX + "." + regionZ + ".mca"));
+                regionFiles.put(regionKey, regionFile);
+            }
+            return regionFile;
+        }
+    }
+
+    private void closeRegionFiles() {
+        synchronized (regionFiles) {
+            for(RegionFile regionFile : regionFiles.values()) {
+                try {
+                    regionFile.close();
+                } catch (IOException exception) {
+                    GTLog.logger.error("Failed to close ore vein region file in {}", storeDirectory, exception);
+                }
+            }
+            regionFiles.clear();
+        }
+    }
+
+    private static long getEntryKey(int gridX, int gridZ) {
+        return (long) gridX << 32 | gridZ & 0xFFFFFFFFL;
+    }
+
+    private static ExecutorService getWriteExecutor() {
+        if(writeExecutor == null) {
+            //single thread, so writes of the same entry are never reordered
+            writeExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("GregTech Ore Vein Writer")
+                .setDaemon(true)
+                .build());
+        }
+        return writeExecutor;
+    }
+}
@@ -36,6 +36,7 @@ public class WorldGeneratorImpl implements IWorldGenerator {
         COAL, DIAMOND, GOLD, IRON, LAPIS, REDSTONE, QUARTZ, DIORITE, GRANITE, ANDESITE, EMERALD);
     public static final int GRID_SIZE_X = 3;
     public static final int GRID_SIZE_Z = 3;
+    private static final int PREFETCH_GRID_RADIUS = 2;
 
     @SubscribeEvent(priority = EventPriority.HIGH)
     public void onOreGenerate(OreGenEvent.GenerateMinable event) {
@@ -51,6 +52,8 @@ public class WorldGeneratorImpl implements IWorldGenerator {
         int selfGridX = Math.floorDiv(chunkX, GRID_SIZE_X);
         int selfGridZ = Math.floorDiv(chunkZ, GRID_SIZE_Z);
         List<OreDepositDefinition> generatedOres = generateInternal(world, selfGridX, selfGridZ, chunkX, chunkZ);
+        //chunks populated next will need grids around current ones, so start computing them now
+        CachedGridEntry.prefetchEntries(world, selfGridX, selfGridZ, PREFETCH_GRID_RADIUS);
 
         //if we didn't generate anything, or surface rocks disabled, or it is a flat world,
         //do not generate them at all
@@ -9,6 +9,12 @@ public class ConfigHolder {
     @Config.Comment("Whether to enable more verbose logging. Default: false")
     public static boolean debug = false;
 
+    @Config.Comment("Amount of worker threads used to run material handlers and decomposition recipe generation " +
+        "during recipe registration. Generated recipes are registered in the same order regardless of this setting. " +
+        "Set to 0 or 1 to run them on main thread. Default: 0")
+    @Config.RangeInt(min = 0)
+    public static int materialHandlerThreads = 0;
+
     @Config.Comment("Whether to increase number of rolls for dungeon chests. Increases dungeon loot drastically.")
     public static boolean increaseDungeonLoot = true;
 
@@ -18,6 +24,21 @@ public class ConfigHolder {
     @Config.Comment("Specifies additional random amount of veins in section")
     public static int additionalVeinsInSection = 2;
 
+    @Config.Comment("Amount of worker threads used to compute ore vein layouts ahead of chunk population. " +
+        "Set to 0 to compute them only when chunk is populated, on server thread. Default: 0")
+    @Config.RangeInt(min = 0)
+    @Config.RequiresMcRestart
+    public static int oreVeinPrecomputeThreads = 0;
+
+    @Config.Comment("Maximum amount of ore vein grids kept in memory per world. Default: 300")
+    @Config.RangeInt(min = 16)
+    @Config.RequiresMcRestart
+    public static int oreVeinCacheSize = 300;
+
+    @Config.Comment("Whether to save computed ore vein layouts into world folder, so they don't need to be computed again " +
+        "when revisiting generated terrain or prospecting. Default: false")
+    public static boolean persistOreVeinLayouts = false;
+
     @Config.Comment("True to enable surface rocks indicating vein under them")
     public static boolean enableOreVeinSurfaceRocks = true;
 
@@ -30,6 +51,10 @@ public class ConfigHolder {
     @Config.Comment("Whether machines should explode when overloaded with power. Default: true")
     public static boolean doExplosions = true;
 
+    @Config.Comment("Whether energy nets should collect energy of all emitters during tick and share it evenly between consumers, " +
+        "delivering it at the end of tick. If false, every emitter gives energy to the nearest consumers first. Default: false")
+    public static boolean useEnergyNetTickSolver = false;
+
     @Config.Comment("Energy use multiplier for electric items. Default: 100")
     public static int energyUsageMultiplier = 100;
 
@@ -1,6 +1,9 @@
 package gregtech.common;
 
 import gregtech.api.GTValues;
+import gregtech.api.metatileentity.multiblock.MultiblockStructureWatcher;
+import gregtech.api.worldgen.generator.OreVeinStore;
+import gregtech.common.pipelike.cable.net.WorldENet;
 import net.minecraft.entity.monster.EntityEnderman;
 import net.minecraft.init.Items;
 import net.minecraft.init.MobEffects;
@@ -9,9 +12,12 @@ import net.minecraftforge.common.config.Config;
 import net.minecraftforge.common.config.ConfigManager;
 import net.minecraftforge.event.entity.living.EnderTeleportEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.client.event.ConfigChangedEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 @Mod.EventBusSubscriber
 public class EventHandlers {
@@ -40,6 +46,31 @@ public class EventHandlers {
 		}
 	}
 
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        MultiblockStructureWatcher.onWorldUnload(event.getWorld());
+        OreVeinStore.onWorldUnload(event.getWorld());
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if(!event.getWorld().isRemote) {
+            WorldENet.onChunkUnload(event.getWorld(), event.getChunk().x, event.getChunk().z);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if(event.phase == TickEvent.Phase.END && !event.world.isRemote) {
+            WorldENet.onWorldTick(event.world);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldSave(WorldEvent.Save event) {
+        OreVeinStore.onWorldSave(event.getWorld());
+    }
+
     @SubscribeEvent
     public void onConfigChangedEvent(ConfigChangedEvent.OnConfigChangedEvent event) {
         if (event.getModID().equals(GTValues.MODID)) {
@@ -15,6 +15,8 @@ import gregtech.api.gui.widgets.*;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.render.Textures;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.ItemHandlerSlotIndex;
+import gregtech.api.util.ItemHandlerSnapshot;
 import gregtech.api.util.watch.WatchedItemStackHandler;
 import gregtech.common.items.MetaItems;
 import net.minecraft.block.Block;
@@ -22,13 +24,11 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.*;
 import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
-import net.minecraftforge.items.ItemHandlerHelper;
 import net.minecraftforge.items.ItemStackHandler;
 
 import javax.annotation.Nonnull;
@@ -44,11 +44,16 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
     protected final ItemStackHandler filterTypeInventory;
     protected FilterType filterMode;
     protected String oreDictionaryFilter;
+    protected OreDictionaryFilterMatcher oreDictionaryFilterMatcher;
     protected ItemStackHandler itemFilterSlots;
     protected boolean ignoreDamage = true;
     protected boolean ignoreNBTData = true;
     protected int itemsLeftToTransferLastSecond;
     private CoverableItemHandlerWrapper itemHandlerWrapper;
+    //contents of both inventories after transfer which didn't move anything,
+    //so next transfers can be skipped until either of them changes
+    private final ItemHandlerSnapshot attachedInventorySnapshot = new ItemHandlerSnapshot();
+    private final ItemHandlerSnapshot holderInventorySnapshot = new ItemHandlerSnapshot();
     
     public CoverConveyor(ICoverable coverable, EnumFacing attachedSide, int tier, int itemsPerSecond) {
         super(coverable, attachedSide);
@@ -60,16 +65,18 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         this.filterTypeInventory = new FilterItemStackHandler();
         this.filterMode = FilterType.NONE;
         this.oreDictionaryFilter = "";
+        this.oreDictionaryFilterMatcher = new OreDictionaryFilterMatcher(oreDictionaryFilter);
         this.itemFilterSlots = new WatchedItemStackHandler(9) {
             @Override
             public int getSlotLimit(int slot) {
                 return 1;
             }
-        };
+        }.setOnItemChanged(stack -> resetTransferStall());
     }
 
     protected void setTransferRate(int transferRate) {
         this.transferRate = transferRate;
+        resetTransferStall();
         coverHolder.markDirty();
     }
 
@@ -79,21 +86,26 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
 
     protected void setConveyorMode(ConveyorMode conveyorMode) {
         this.conveyorMode = conveyorMode;
+        resetTransferStall();
         coverHolder.markDirty();
     }
 
     protected void setIgnoreDamage(boolean ignoreDamage) {
         this.ignoreDamage = ignoreDamage;
+        resetTransferStall();
         coverHolder.markDirty();
     }
 
     protected void setIgnoreNBTData(boolean ignoreNBTData) {
         this.ignoreNBTData = ignoreNBTData;
+        resetTransferStall();
         coverHolder.markDirty();
     }
 
     protected void setOreDictionaryFilter(String filter) {
         this.oreDictionaryFilter = filter;
+        this.oreDictionaryFilterMatcher = new OreDictionaryFilterMatcher(filter);
+        resetTransferStall();
         coverHolder.markDirty();
     }
 
@@ -102,6 +114,12 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         doTransferAny();
     }
 
+    @Override
+    public int getTicksUntilNextUpdate() {
+        //transfers and transfer limit resets only happen every 5 ticks
+        return (int) (5 - coverHolder.getTimer() % 5);
+    }
+
     protected void doTransferAny() {
         long timer = coverHolder.getTimer();
         if(timer % 5 == 0 && itemsLeftToTransferLastSecond > 0) {
@@ -118,13 +136,43 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
     }
 
     protected int[] doTransferItems(int maxTransferAmount, int[] transferLimit, boolean simulate) {
-        TileEntity tileEntity = coverHolder.getWorld().getTileEntity(coverHolder.getPos().offset(attachedSide));
-        IItemHandler itemHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide.getOpposite());
+        IItemHandler itemHandler = coverHolder.getNeighborCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide);
         IItemHandler myItemHandler = coverHolder.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide);
-        if(itemHandler == null || myItemHandler == null) {
+        if(itemHandler == null || myItemHandler == null || isTransferStalled(itemHandler, myItemHandler)) {
             return new int[filterMode.maxMatchSlots];
         }
-        return doTransferItemsInternal(itemHandler, myItemHandler, maxTransferAmount, transferLimit, simulate);
+        int[] itemsTransferred = doTransferItemsInternal(itemHandler, myItemHandler, maxTransferAmount, transferLimit, simulate);
+        if(!simulate) {
+            updateTransferStall(itemHandler, myItemHandler, itemsTransferred);
+        }
+        return itemsTransferred;
+    }
+
+    /**
+     * @return true if last transfer between given inventories didn't move anything,
+     *         and neither of them has changed since then
+     */
+    protected boolean isTransferStalled(IItemHandler itemHandler, IItemHandler myItemHandler) {
+        return attachedInventorySnapshot.matches(itemHandler) && holderInventorySnapshot.matches(myItemHandler);
+    }
+
+    protected void updateTransferStall(IItemHandler itemHandler, IItemHandler myItemHandler, int[] itemsTransferred) {
+        for(int amountTransferred : itemsTransferred) {
+            if(amountTransferred > 0) {
+                resetTransferStall();
+                return;
+            }
+        }
+        attachedInventorySnapshot.update(itemHandler);
+        holderInventorySnapshot.update(myItemHandler);
+    }
+
+    /**
+     * Should be called whenever settings affecting transfers change
+     */
+    protected void resetTransferStall() {
+        attachedInventorySnapshot.invalidate();
+        holderInventorySnapshot.invalidate();
     }
 
     protected int[] doTransferItemsInternal(IItemHandler itemHandler, IItemHandler myItemHandler, int maxTransferAmount, int[] transferLimit, boolean simulate) {
@@ -149,6 +197,8 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         int itemsLeftToTransfer = maxTransferAmount;
         int[] itemTypesLeftToTransfer = transferLimit == null ? null : Arrays.copyOf(transferLimit, transferLimit.length);
         int[] itemsTransfer = new int[filterMode.maxMatchSlots];
+        //index target slots once, instead of going through all of them for every source slot
+        ItemHandlerSlotIndex targetSlotIndex = new ItemHandlerSlotIndex(targetInventory);
         for(int srcIndex = 0; srcIndex < sourceInventory.getSlots(); srcIndex++) {
             ItemStack sourceStack = sourceInventory.extractItem(srcIndex, itemsLeftToTransfer, true);
             if(sourceStack.isEmpty()) {
@@ -158,7 +208,7 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
             if(transferSlotIndex == -1) {
                 continue;
             }
-            ItemStack remainder = ItemHandlerHelper.insertItemStacked(targetInventory, sourceStack, true);
+            ItemStack remainder = targetSlotIndex.insertItemStacked(sourceStack, true);
             int amountToInsert = sourceStack.getCount() - remainder.getCount();
             if(itemTypesLeftToTransfer != null) {
                 amountToInsert = Math.min(amountToInsert, itemTypesLeftToTransfer[transferSlotIndex]);
@@ -167,7 +217,7 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
                 sourceStack = sourceInventory.extractItem(srcIndex, amountToInsert, simulate);
                 if(!sourceStack.isEmpty()) {
                     if(!simulate) {
-                        ItemHandlerHelper.insertItemStacked(targetInventory, sourceStack, false);
+                        targetSlotIndex.insertItemStacked(sourceStack, false);
                     }
                     itemsLeftToTransfer -= sourceStack.getCount();
                     itemsTransfer[transferSlotIndex] += sourceStack.getCount();
@@ -311,6 +361,7 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         this.filterTypeInventory.deserializeNBT(tagCompound.getCompoundTag("FilterInventory"));
         this.itemFilterSlots.deserializeNBT(tagCompound.getCompoundTag("ItemFilter"));
         this.oreDictionaryFilter = tagCompound.getString("OreDictionaryFilter");
+        this.oreDictionaryFilterMatcher = new OreDictionaryFilterMatcher(oreDictionaryFilter);
         this.ignoreDamage = tagCompound.getBoolean("IgnoreDamage");
         this.ignoreNBTData = tagCompound.getBoolean("IgnoreNBT");
     }
@@ -329,7 +380,7 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
     public enum FilterType {
         NONE(1, (it, stack) -> 0),
         ITEM_FILTER(9, (it, stack) -> CoverItemFilter.itemFilterMatch(it.itemFilterSlots, it.ignoreDamage, it.ignoreNBTData, stack)),
-        ORE_DICTIONARY_FILTER(1, (it, stack) -> CoverOreDictionaryFilter.oreDictionaryFilterMatch(it.oreDictionaryFilter, stack));
+        ORE_DICTIONARY_FILTER(1, (it, stack) -> it.oreDictionaryFilterMatcher.matches(stack) ? 0 : -1);
 
         public final BiFunction<CoverConveyor, ItemStack, Integer> matcher;
         public final int maxMatchSlots;
@@ -370,6 +421,7 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         protected void onContentsChanged(int slot) {
             ItemStack itemStack = getStackInSlot(slot);
             CoverConveyor.this.filterMode = getFilterMode(itemStack);
+            resetTransferStall();
             onFilterModeUpdated();
         }
 
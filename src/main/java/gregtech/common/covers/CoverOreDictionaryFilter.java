@@ -15,7 +15,6 @@ import gregtech.api.gui.widgets.LabelWidget;
 import gregtech.api.gui.widgets.TextFieldWidget;
 import gregtech.api.gui.widgets.WidgetGroup;
 import gregtech.api.render.Textures;
-import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.util.GTUtility;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -36,16 +35,19 @@ public class CoverOreDictionaryFilter extends CoverBehavior implements CoverWith
     public static final Pattern ORE_DICTIONARY_FILTER = Pattern.compile("\\*?[a-zA-Z0-9_]*\\*?");
 
     protected String oreDictionaryFilter;
+    protected OreDictionaryFilterMatcher filterMatcher;
     protected ItemFilterMode filterMode = ItemFilterMode.FILTER_INSERT;
     protected ItemHandlerOreDictFiltered itemHandler;
 
     public CoverOreDictionaryFilter(ICoverable coverHolder, EnumFacing attachedSide) {
         super(coverHolder, attachedSide);
         this.oreDictionaryFilter = "";
+        this.filterMatcher = new OreDictionaryFilterMatcher(oreDictionaryFilter);
     }
 
     protected void setOreDictionaryFilter(String oreDictionaryFilter) {
         this.oreDictionaryFilter = oreDictionaryFilter;
+        this.filterMatcher = new OreDictionaryFilterMatcher(oreDictionaryFilter);
         coverHolder.markDirty();
     }
 
@@ -100,6 +102,7 @@ public class CoverOreDictionaryFilter extends CoverBehavior implements CoverWith
     public void readFromNBT(NBTTagCompound tagCompound) {
         super.readFromNBT(tagCompound);
         this.oreDictionaryFilter = tagCompound.getString("OreDictionaryFilter");
+        this.filterMatcher = new OreDictionaryFilterMatcher(oreDictionaryFilter);
         this.filterMode = ItemFilterMode.values()[tagCompound.getInteger("FilterMode")];
     }
 
@@ -127,8 +130,8 @@ public class CoverOreDictionaryFilter extends CoverBehavior implements CoverWith
         }
 
         @Override
-        public String getOreDictName() {
-            return oreDictionaryFilter;
+        public OreDictionaryFilterMatcher getFilterMatcher() {
+            return filterMatcher;
         }
     }
 
@@ -144,7 +147,7 @@ public class CoverOreDictionaryFilter extends CoverBehavior implements CoverWith
             ItemFilterMode filterMode = getFilterMode();
             if (filterMode == ItemFilterMode.FILTER_EXTRACT) {
                 return stack;
-            } else if (oreDictionaryFilterMatch(getOreDictName(), stack) == -1) {
+            } else if (!getFilterMatcher().matches(stack)) {
                 return stack;
             }
             return super.insertItem(slot, stack, simulate);
@@ -158,7 +161,7 @@ public class CoverOreDictionaryFilter extends CoverBehavior implements CoverWith
                 return ItemStack.EMPTY;
             }
             ItemStack result = super.extractItem(slot, amount, true);
-            if(oreDictionaryFilterMatch(getOreDictName(), result) == -1) {
+            if(!getFilterMatcher().matches(result)) {
                 return ItemStack.EMPTY;
             }
             if(!simulate) {
@@ -169,38 +172,15 @@ public class CoverOreDictionaryFilter extends CoverBehavior implements CoverWith
 
         public abstract ItemFilterMode getFilterMode();
 
-        public abstract String getOreDictName();
+        public abstract OreDictionaryFilterMatcher getFilterMatcher();
     }
 
+    /**
+     * Matches given stack against given filter expression
+     * Parses filter every time, so {@link OreDictionaryFilterMatcher} should be used for repeated matching
+     * @return 0 if stack matches, -1 otherwise
+     */
     public static int oreDictionaryFilterMatch(String oreDictionaryFilter, ItemStack itemStack) {
-        if(oreDictionaryFilter.isEmpty()) {
-            return -1;
-        }
-        boolean startWildcard = oreDictionaryFilter.charAt(0) == '*';
-        boolean endWildcard = oreDictionaryFilter.charAt(oreDictionaryFilter.length() - 1) == '*';
-        if(startWildcard) {
-            oreDictionaryFilter = oreDictionaryFilter.substring(1);
-        }
-        if(endWildcard) {
-            oreDictionaryFilter = oreDictionaryFilter.substring(0, oreDictionaryFilter.length() - 1);
-        }
-        for(String stackOreName : OreDictUnifier.getOreDictionaryNames(itemStack)) {
-            if(areOreDictNamesEqual(startWildcard, endWildcard, oreDictionaryFilter, stackOreName)) {
-                return 0;
-            }
-        }
-        return -1;
-    }
-
-    private static boolean areOreDictNamesEqual(boolean startWildcard, boolean endWildcard, String oreDictName, String stackOreName) {
-        if(startWildcard && endWildcard) {
-            return stackOreName.contains(oreDictName);
-        } else if(startWildcard) {
-            return stackOreName.endsWith(oreDictName);
-        } else if(endWildcard) {
-            return stackOreName.startsWith(oreDictName);
-        } else {
-            return stackOreName.equals(oreDictName);
-        }
+        return new OreDictionaryFilterMatcher(oreDictionaryFilter).matches(itemStack) ? 0 : -1;
     }
 }
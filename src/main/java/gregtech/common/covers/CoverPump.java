@@ -24,7 +24,6 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.*;
 import net.minecraft.util.math.MathHelper;
 import net.minecraftforge.common.capabilities.Capability;
@@ -87,9 +86,14 @@ public class CoverPump extends CoverBehavior implements CoverWithUI, ITickable {
         }
     }
 
+    @Override
+    public int getTicksUntilNextUpdate() {
+        //transfers and transfer limit resets only happen every 5 ticks
+        return (int) (5 - coverHolder.getTimer() % 5);
+    }
+
     protected int doTransferFluids(int transferLimit) {
-        TileEntity tileEntity = coverHolder.getWorld().getTileEntity(coverHolder.getPos().offset(attachedSide));
-        IFluidHandler fluidHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, attachedSide.getOpposite());
+        IFluidHandler fluidHandler = coverHolder.getNeighborCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, attachedSide);
         IFluidHandler myFluidHandler = coverHolder.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, attachedSide);
         if(fluidHandler == null || myFluidHandler == null) {
             return 0;
@@ -15,7 +15,6 @@ import gregtech.api.util.watch.WatchedItemStackHandler;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
@@ -35,7 +34,7 @@ public class CoverRoboticArm extends CoverConveyor {
             public int getSlotLimit(int slot) {
                 return maxItemTransferRate;
             }
-        };
+        }.setOnItemChanged(stack -> resetTransferStall());
     }
 
     @Override
@@ -50,10 +49,9 @@ public class CoverRoboticArm extends CoverConveyor {
 
     protected void doTransferExact() {
         if(coverHolder.getTimer() % 20 == 0L) {
-            TileEntity tileEntity = coverHolder.getWorld().getTileEntity(coverHolder.getPos().offset(attachedSide));
-            IItemHandler itemHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide.getOpposite());
+            IItemHandler itemHandler = coverHolder.getNeighborCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide);
             IItemHandler myItemHandler = coverHolder.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide);
-            if(itemHandler == null || myItemHandler == null) {
+            if(itemHandler == null || myItemHandler == null || isTransferStalled(itemHandler, myItemHandler)) {
                 return;
             }
             int[] itemsTransferLimits = new int[filterMode.maxMatchSlots];
@@ -69,17 +67,19 @@ public class CoverRoboticArm extends CoverConveyor {
             }
             int[] itemsTransferred = doTransferItemsInternal(itemHandler, myItemHandler, transferRate, itemsTransferLimits, true);
             if(Arrays.equals(itemsTransferLimits, itemsTransferred)) {
-                doTransferItemsInternal(itemHandler, myItemHandler, transferRate, itemsTransferLimits, false);
+                itemsTransferred = doTransferItemsInternal(itemHandler, myItemHandler, transferRate, itemsTransferLimits, false);
+            } else {
+                itemsTransferred = new int[itemsTransferred.length];
             }
+            updateTransferStall(itemHandler, myItemHandler, itemsTransferred);
         }
     }
 
     private void doKeepExact() {
         if(coverHolder.getTimer() % 20 == 0L) {
-            TileEntity tileEntity = coverHolder.getWorld().getTileEntity(coverHolder.getPos().offset(attachedSide));
-            IItemHandler itemHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide.getOpposite());
+            IItemHandler itemHandler = coverHolder.getNeighborCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide);
             IItemHandler myItemHandler = coverHolder.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide);
-            if(itemHandler == null || myItemHandler == null) {
+            if(itemHandler == null || myItemHandler == null || isTransferStalled(itemHandler, myItemHandler)) {
                 return;
             }
             int[] currentItemAmount = doCountDestinationInventoryItems(itemHandler, myItemHandler);
@@ -97,8 +97,11 @@ public class CoverRoboticArm extends CoverConveyor {
             int[] itemsToMove = calculateItemsToMove(currentItemAmount, keepItemAmount);
             int[] itemsTransferred = doTransferItemsInternal(itemHandler, myItemHandler, transferRate, itemsToMove, true);
             if(Arrays.equals(itemsToMove, itemsTransferred)) {
-                doTransferItemsInternal(itemHandler, myItemHandler, transferRate, itemsToMove, false);
+                itemsTransferred = doTransferItemsInternal(itemHandler, myItemHandler, transferRate, itemsToMove, false);
+            } else {
+                itemsTransferred = new int[itemsTransferred.length];
             }
+            updateTransferStall(itemHandler, myItemHandler, itemsTransferred);
         }
     }
 
@@ -116,6 +119,7 @@ public class CoverRoboticArm extends CoverConveyor {
 
     public void setTransferMode(TransferMode transferMode) {
         this.transferMode = transferMode;
+        resetTransferStall();
         coverHolder.markDirty();
     }
 
@@ -0,0 +1,90 @@
+package gregtech.common.covers;
+
+import gnu.trove.map.TLongByteMap;
+import gnu.trove.map.hash.TLongByteHashMap;
+import gregtech.api.unification.OreDictUnifier;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+/**
+ * Ore dictionary filter expression parsed once, with match results cached per item and metadata
+ * Cached results are dropped when new ore dictionary registrations happen,
+ * filter changes are expected to create new matcher instead
+ */
+public class OreDictionaryFilterMatcher {
+
+    private static final int MAX_CACHED_RESULTS = 512;
+    private static final byte NOT_CACHED = 0;
+    private static final byte MATCHES = 1;
+    private static final byte DOES_NOT_MATCH = 2;
+
+    private final String oreDictionaryFilter;
+    private final String oreDictName;
+    private final boolean startWildcard;
+    private final boolean endWildcard;
+    private final TLongByteMap cachedResults = new TLongByteHashMap(16, 0.5f, 0L, NOT_CACHED);
+    private int cachedRegistrationRevision;
+
+    public OreDictionaryFilterMatcher(String oreDictionaryFilter) {
+        this.oreDictionaryFilter = oreDictionaryFilter;
+        this.startWildcard = !oreDictionaryFilter.isEmpty() && oreDictionaryFilter.charAt(0) == '*';
+        this.endWildcard = !oreDictionaryFilter.isEmpty() && oreDictionaryFilter.charAt(oreDictionaryFilter.length() - 1) == '*';
+        String oreDictName = oreDictionaryFilter;
+        if(startWildcard) {
+            oreDictName = oreDictName.substring(1);
+        }
+        if(endWildcard && !oreDictName.isEmpty()) {
+            oreDictName = oreDictName.substring(0, oreDictName.length() - 1);
+        }
+        this.oreDictName = oreDictName;
+        this.cachedRegistrationRevision = OreDictUnifier.getRegistrationRevision();
+    }
+
+    public String getOreDictionaryFilter() {
+        return oreDictionaryFilter;
+    }
+
+    public boolean matches(ItemStack itemStack) {
+        if(oreDictionaryFilter.isEmpty() || itemStack.isEmpty()) {
+            return false;
+        }
+        int registrationRevision = OreDictUnifier.getRegistrationRevision();
+        if(registrationRevision != cachedRegistrationRevision) {
+            this.cachedResults.clear();
+            this.cachedRegistrationRevision = registrationRevision;
+        }
+        long itemKey = (long) Item.getIdFromItem(itemStack.getItem()) << 32 | itemStack.getItemDamage() & 0xFFFFFFFFL;
+        byte cachedResult = cachedResults.get(itemKey);
+        if(cachedResult != NOT_CACHED) {
+            return cachedResult == MATCHES;
+        }
+        boolean result = computeMatch(itemStack);
+        if(cachedResults.size() >= MAX_CACHED_RESULTS) {
+            //cheaper than tracking access order, and filters rarely see that many different items
+            cachedResults.clear();
+        }
+        cachedResults.put(itemKey, result ? MATCHES : DOES_NOT_MATCH);
+        return result;
+    }
+
+    private boolean computeMatch(ItemStack itemStack) {
+        for(String stackOreName : OreDictUnifier.getOreDictionaryNames(itemStack)) {
+            if(matchesOreDictName(stackOreName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesOreDictName(String stackOreName) {
+        if(startWildcard && endWildcard) {
+            return stackOreName.contains(oreDictName);
+        } else if(startWildcard) {
+            return stackOreName.endsWith(oreDictName);
+        } else if(endWildcard) {
+            return stackOreName.startsWith(oreDictName);
+        } else {
+            return stackOreName.equals(oreDictName);
+        }
+    }
+}
@@ -81,6 +81,8 @@ public class MetaTileEntityTransformer extends TieredMetaTileEntity {
         isTransformUp = inverted;
         if(!getWorld().isRemote) {
             reinitializeEnergyContainer();
+            //energy container is replaced, so energy net should drop endpoints it has resolved
+            getHolder().notifyBlockUpdate();
             writeCustomData(100, b -> b.writeBoolean(isTransformUp));
             markDirty();
         }
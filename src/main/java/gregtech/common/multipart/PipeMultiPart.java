@@ -16,6 +16,8 @@ import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.pipenet.block.BlockPipe;
 import gregtech.api.pipenet.block.IPipeType;
 import gregtech.api.pipenet.tile.IPipeTile;
+import gregtech.api.pipenet.tile.PipeConnectionCache;
+import gregtech.api.util.NeighborCapabilityCache;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
@@ -45,6 +47,8 @@ public abstract class PipeMultiPart<PipeType extends Enum<PipeType> & IPipeType<
     //set to true when part is being replaced with modified version of self
     //used to skip pipe net adding and removing code while replacing part
     protected boolean isBeingReplaced = false;
+    private final NeighborCapabilityCache neighborCache = new NeighborCapabilityCache();
+    private final PipeConnectionCache connectionCache = new PipeConnectionCache();
 
     protected PipeMultiPart() {}
 
@@ -108,6 +112,7 @@ public abstract class PipeMultiPart<PipeType extends Enum<PipeType> & IPipeType<
     @Override
     public void setInsulationColor(int color) {
         this.insulationColor = color;
+        this.connectionCache.invalidate();
         if(!world().isRemote) {
             this.sendDescUpdate();
           pipeBlock.getWorldPipeNet(world()).updateMark(pos(), getMark());
@@ -149,6 +154,7 @@ public abstract class PipeMultiPart<PipeType extends Enum<PipeType> & IPipeType<
     }
 
     private void reinitializeShape() {
+        this.connectionCache.invalidate();
         this.centerBox = BlockPipe.getSideBox(null, getPipeType().getThickness());
         updateSidedConnections(false);
     }
@@ -201,6 +207,7 @@ public abstract class PipeMultiPart<PipeType extends Enum<PipeType> & IPipeType<
 
     private void updateActualConnections() {
         int lastActualConnections = activeConnections;
+        this.connectionCache.invalidate();
 
         TileMultipart tileMultipart = tile();
         if (tileMultipart != null && !tileMultipart.isInvalid()) {
@@ -225,6 +232,7 @@ public abstract class PipeMultiPart<PipeType extends Enum<PipeType> & IPipeType<
 
     @Override
     public void onRemoved() {
+        this.neighborCache.invalidate();
         if(!this.isBeingReplaced) {
             pipeBlock.getWorldPipeNet(world()).removeNode(pos());
             this.isBeingReplaced = false;
@@ -245,12 +253,14 @@ public abstract class PipeMultiPart<PipeType extends Enum<PipeType> & IPipeType<
 
     @Override
     public void onNeighborChanged() {
+        this.neighborCache.invalidate();
         updateActualConnections();
         getWriteStream().writeByte(1);
         scheduleTick(1);
         boolean isActiveNode = pipeBlock.getActiveNodeConnections(world(), pos()) > 0;
         PipeNet<NodeDataType> pipeNet = pipeBlock.getWorldPipeNet(world()).getNetFromPos(pos());
         if(pipeNet != null) {
+            pipeNet.onNeighbourUpdate(pos());
             boolean changed = pipeNet.markNodeAsActive(pos(), isActiveNode);
             if(changed) {
                 onModeChange(isActiveNode);
@@ -258,6 +268,16 @@ public abstract class PipeMultiPart<PipeType extends Enum<PipeType> & IPipeType<
         }
     }
 
+    @Override
+    public NeighborCapabilityCache getNeighborCache() {
+        return neighborCache;
+    }
+
+    @Override
+    public PipeConnectionCache getConnectionCache() {
+        return connectionCache;
+    }
+
     protected void onModeChange(boolean isActiveNow) {
     }
 
@@ -1,6 +1,8 @@
 package gregtech.common.pipelike.cable.net;
 
-import gregtech.api.pipenet.Node;
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import gregtech.api.pipenet.NodeState;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.util.PerTickLongCounter;
@@ -10,12 +12,16 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
 
-import java.util.*;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 
 public class EnergyNet extends PipeNet<WireProperties> {
 
     private final PerTickLongCounter currentAmperageCounter = new PerTickLongCounter(0L);
     private final PerTickLongCounter currentMaxVoltageCounter = new PerTickLongCounter(0L);
+    private final EnergyRoutingTable routingTable = new EnergyRoutingTable(this);
+    private EnergyNetTickSolver tickSolver;
 
     protected EnergyNet(WorldPipeNet<WireProperties, EnergyNet> world) {
         super(world);
@@ -37,45 +43,131 @@ public class EnergyNet extends PipeNet<WireProperties> {
         }
     }
 
-    public List<RoutePath> computePatches(BlockPos startPos) {
-        ArrayList<RoutePath> readyPaths = new ArrayList<>();
-        RoutePath currentPath = new RoutePath();
-        Node<WireProperties> firstNode = allNodes.get(startPos);
-        currentPath.path.put(startPos, firstNode.data);
-        readyPaths.add(currentPath.cloneAndCompute(startPos));
-        HashSet<BlockPos> observedSet = new HashSet<>();
-        observedSet.add(startPos);
-        MutableBlockPos currentPos = new MutableBlockPos(startPos);
-        Stack<EnumFacing> moveStack = new Stack<>();
-        main: while(true) {
+    public List<RoutePath> getRoutePaths(BlockPos sourcePos) {
+        return routingTable.getRoutesFrom(sourcePos);
+    }
+
+    public EnergyNetTickSolver getTickSolver() {
+        if(tickSolver == null) {
+            this.tickSolver = new EnergyNetTickSolver(this);
+        }
+        return tickSolver;
+    }
+
+    WorldENet getWorldENet() {
+        return (WorldENet) (WorldPipeNet<?, ?>) worldData;
+    }
+
+    RouteEndpointIndex getEndpointIndex() {
+        return getWorldENet().getEndpointIndex();
+    }
+
+    /**
+     * Computes lowest-loss paths from given node to every node reachable from it
+     * Loss of the path is sum of losses of all cables in it, path length is used to break ties
+     * @return map of packed node position to packed position of previous node on path to it,
+     *         start node is mapped to itself
+     */
+    TLongLongMap computeLowestLossTree(BlockPos startPos) {
+        TLongLongMap previousNodes = new TLongLongHashMap();
+        long packedStartPos = startPos.toLong();
+        long startNode = allNodes.get(packedStartPos);
+        if(startNode == NodeState.NO_NODE) {
+            return previousNodes;
+        }
+        //priority holds path loss in high bits and path length in low bits
+        TLongLongMap bestPriorities = new TLongLongHashMap();
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+        long startPriority = (long) getNodeDataFromState(startNode).lossPerBlock << 32;
+        previousNodes.put(packedStartPos, packedStartPos);
+        bestPriorities.put(packedStartPos, startPriority);
+        queue.add(new long[] {startPriority, packedStartPos});
+        MutableBlockPos currentPos = new MutableBlockPos();
+        MutableBlockPos offsetPos = new MutableBlockPos();
+
+        while(!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            if(entry[0] > bestPriorities.get(entry[1]))
+                continue; //we already found better path to this node
+            currentPos.setPos(BlockPos.fromLong(entry[1]));
+            long currentNode = allNodes.get(entry[1]);
             for(EnumFacing facing : EnumFacing.VALUES) {
-                currentPos.move(facing);
-                Node<WireProperties> secondNode = allNodes.get(currentPos);
-                if(secondNode != null && canNodesConnect(firstNode, facing, secondNode, this) && !observedSet.contains(currentPos)) {
-                    BlockPos immutablePos = currentPos.toImmutable();
-                    observedSet.add(immutablePos);
-                    firstNode = secondNode;
-                    moveStack.push(facing.getOpposite());
-                    currentPath.path.put(immutablePos, allNodes.get(immutablePos).data);
-                    if(secondNode.isActive) {
-                        //if we are on active node, this is end of our path
-                        RoutePath finalizedPath = currentPath.cloneAndCompute(immutablePos);
-                        readyPaths.add(finalizedPath);
-                    }
-                    continue main;
-                } else {
-                    currentPos.move(facing.getOpposite());
+                offsetPos.setPos(currentPos).move(facing);
+                long packedOffsetPos = offsetPos.toLong();
+                long secondNode = allNodes.get(packedOffsetPos);
+                if(secondNode == NodeState.NO_NODE || !canNodesConnect(currentNode, facing, secondNode, this))
+                    continue;
+                long priority = entry[0] + ((long) getNodeDataFromState(secondNode).lossPerBlock << 32) + 1;
+                if(!bestPriorities.containsKey(packedOffsetPos) || priority < bestPriorities.get(packedOffsetPos)) {
+                    bestPriorities.put(packedOffsetPos, priority);
+                    previousNodes.put(packedOffsetPos, entry[1]);
+                    queue.add(new long[] {priority, packedOffsetPos});
                 }
             }
-            if(!moveStack.isEmpty()) {
-                currentPos.move(moveStack.pop());
-                //also remove already visited block from path
-                currentPath.path.remove(currentPos);
-            } else break;
         }
-        return readyPaths;
+        return previousNodes;
+    }
+
+    int getConnectedNodesCount(BlockPos nodePos) {
+        long selfNode = allNodes.get(nodePos.toLong());
+        int connectedNodes = 0;
+        for(EnumFacing facing : EnumFacing.VALUES) {
+            long secondNode = allNodes.get(nodePos.offset(facing).toLong());
+            if(secondNode != NodeState.NO_NODE && canNodesConnect(selfNode, facing, secondNode, this))
+                connectedNodes++;
+        }
+        return connectedNodes;
+    }
+
+    @Override
+    protected void addNode(BlockPos nodePos, WireProperties nodeData, int mark, int blockedConnections, boolean isActive) {
+        super.addNode(nodePos, nodeData, mark, blockedConnections, isActive);
+        routingTable.onNodeAdded(nodePos, isActive);
+    }
+
+    @Override
+    protected void removeNode(BlockPos nodePos) {
+        routingTable.onNodeRemoved(nodePos);
+        super.removeNode(nodePos);
+    }
+
+    @Override
+    public boolean markNodeAsActive(BlockPos nodePos, boolean isActive) {
+        boolean modeChanged = super.markNodeAsActive(nodePos, isActive);
+        if(modeChanged) {
+            if(isActive) {
+                routingTable.onNodeActivated(nodePos);
+            } else {
+                routingTable.onNodeDeactivated(nodePos);
+            }
+        }
+        return modeChanged;
+    }
+
+    @Override
+    public void onNeighbourUpdate(BlockPos nodePos) {
+        getEndpointIndex().invalidateEndpoints(nodePos);
     }
 
+    @Override
+    protected void updateBlockedConnections(BlockPos nodePos, EnumFacing facing, boolean isBlocked) {
+        super.updateBlockedConnections(nodePos, facing, isBlocked);
+        routingTable.invalidate();
+    }
+
+    @Override
+    protected void updateMark(BlockPos nodePos, int newMark) {
+        super.updateMark(nodePos, newMark);
+        routingTable.invalidate();
+    }
+
+    @Override
+    protected void transferNodeData(TLongLongMap transferredNodes, PipeNet<WireProperties> parentNet) {
+        super.transferNodeData(transferredNodes, parentNet);
+        //both nets have changed their node sets, so routes of both are outdated
+        routingTable.invalidate();
+        ((EnergyNet) parentNet).routingTable.invalidate();
+    }
 
     @Override
     protected void writeNodeData(WireProperties nodeData, NBTTagCompound tagCompound) {
@@ -0,0 +1,199 @@
+package gregtech.common.pipelike.cable.net;
+
+import gnu.trove.iterator.TLongLongIterator;
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import gregtech.api.capability.IEnergyContainer;
+import gregtech.api.pipenet.block.BlockPipe;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Distributes energy of single energy net once per tick, used instead of pushing energy of every emitter
+ * directly into consumers when {@link gregtech.common.ConfigHolder#useEnergyNetTickSolver} is enabled
+ * Offers of emitters are accepted during the tick against demands of consumers, which are estimated once per tick
+ * from their free capacity, and amperes of every offer are shared between reachable consumers one at a time,
+ * so each of them gets it's share before any gets more than others
+ * Accepted energy is delivered at the end of world tick, with single call per consumer, route and voltage
+ * Cable loss is applied per route, and cables are burned once, by total load of the tick passing through them
+ * Energy consumers don't accept on delivery, as example because other sources filled them during the tick, is lost
+ */
+public class EnergyNetTickSolver {
+
+    private final EnergyNet energyNet;
+    private long tickTime = -1L;
+    //remaining amperes consumers can accept during current tick
+    private final Map<IEnergyContainer, long[]> remainingDemands = new IdentityHashMap<>();
+    private final Map<Delivery, Delivery> deliveries = new LinkedHashMap<>();
+    //total amperage and max voltage passing through every cable during current tick
+    private final TLongLongMap cableAmperages = new TLongLongHashMap();
+    private final TLongLongMap cableVoltages = new TLongLongHashMap();
+
+    EnergyNetTickSolver(EnergyNet energyNet) {
+        this.energyNet = energyNet;
+    }
+
+    /**
+     * Accepts energy offered by emitter at source cable of given routes, reserving demand of consumers
+     * reachable through them, and schedules it's delivery at the end of the tick
+     * @return amount of amperes accepted, which are always delivered, burned or lost in cables
+     */
+    public long offerEnergy(World world, BlockPipe<?, ?, ?> pipeBlock, List<RoutePath> paths, long voltage, long amperage) {
+        beginTick(world);
+        List<RoutePath> candidatePaths = new ArrayList<>();
+        List<RouteEndpoint> candidateEndpoints = new ArrayList<>();
+        for(RoutePath routePath : paths) {
+            if(routePath.totalLoss >= voltage)
+                continue; //do not emit if loss is too high
+            for(RouteEndpoint endpoint : routePath.getEndpoints(world, pipeBlock)) {
+                if(getRemainingDemand(endpoint, voltage - routePath.totalLoss)[0] > 0) {
+                    candidatePaths.add(routePath);
+                    candidateEndpoints.add(endpoint);
+                }
+            }
+        }
+        int candidates = candidateEndpoints.size();
+        if(candidates == 0) {
+            return 0L;
+        }
+        //hand out one ampere per consumer in turn, starting at different consumer every tick
+        long[] allocatedAmperes = new long[candidates];
+        int startIndex = (int) (tickTime % candidates);
+        long amperesLeft = amperage;
+        boolean allocatedAny = true;
+        while(amperesLeft > 0 && allocatedAny) {
+            allocatedAny = false;
+            for(int i = 0; i < candidates && amperesLeft > 0; i++) {
+                int index = (startIndex + i) % candidates;
+                long[] remainingDemand = remainingDemands.get(candidateEndpoints.get(index).energyContainer);
+                if(remainingDemand[0] > 0) {
+                    remainingDemand[0]--;
+                    allocatedAmperes[index]++;
+                    amperesLeft--;
+                    allocatedAny = true;
+                }
+            }
+        }
+        for(int i = 0; i < candidates; i++) {
+            if(allocatedAmperes[i] > 0) {
+                addDelivery(candidatePaths.get(i), candidateEndpoints.get(i), voltage, allocatedAmperes[i]);
+            }
+        }
+        if(amperesLeft < amperage) {
+            energyNet.getWorldENet().scheduleTickSolve(this);
+        }
+        return amperage - amperesLeft;
+    }
+
+    /**
+     * Delivers energy accepted during the tick, burning overloaded cables first
+     */
+    void solveTick(World world) {
+        this.remainingDemands.clear();
+        if(deliveries.isEmpty()) return;
+        List<Delivery> pendingDeliveries = new ArrayList<>(deliveries.values());
+        TLongSet burnedCables = new TLongHashSet();
+        for(TLongLongIterator iterator = cableAmperages.iterator(); iterator.hasNext();) {
+            iterator.advance();
+            BlockPos cablePos = BlockPos.fromLong(iterator.key());
+            if(world.isBlockLoaded(cablePos) && RoutePath.burnCable(world, cablePos, cableVoltages.get(iterator.key()), iterator.value())) {
+                burnedCables.add(iterator.key());
+            }
+        }
+        //clear state before delivering, so consumers emitting energy on acceptance start new offers
+        this.deliveries.clear();
+        this.cableAmperages.clear();
+        this.cableVoltages.clear();
+        for(Delivery delivery : pendingDeliveries) {
+            if(!delivery.endpoint.isValid() || delivery.routePath.containsAnyNode(burnedCables))
+                continue;
+            delivery.endpoint.energyContainer.acceptEnergyFromNetwork(delivery.endpoint.side,
+                delivery.voltage, delivery.amperage);
+        }
+    }
+
+    private void beginTick(World world) {
+        long worldTime = world.getTotalWorldTime();
+        if(tickTime != worldTime) {
+            //deliver energy of previous tick if world tick end wasn't reached, as example on world unload
+            solveTick(world);
+            this.tickTime = worldTime;
+        }
+    }
+
+    private long[] getRemainingDemand(RouteEndpoint endpoint, long voltage) {
+        long[] remainingDemand = remainingDemands.get(endpoint.energyContainer);
+        if(remainingDemand == null) {
+            remainingDemand = new long[] {estimateDemand(endpoint, voltage)};
+            remainingDemands.put(endpoint.energyContainer, remainingDemand);
+        }
+        return remainingDemand;
+    }
+
+    private static long estimateDemand(RouteEndpoint endpoint, long voltage) {
+        IEnergyContainer energyContainer = endpoint.energyContainer;
+        if(!energyContainer.inputsEnergy(endpoint.side)) {
+            return 0L;
+        }
+        if(voltage > energyContainer.getInputVoltage()) {
+            //overvoltage is still delivered, so consumer gets overloaded like with direct dispatch
+            return energyContainer.getInputAmperage();
+        }
+        long canAccept = energyContainer.getEnergyCapacity() - energyContainer.getEnergyStored();
+        return Math.min(energyContainer.getInputAmperage(), canAccept / voltage);
+    }
+
+    private void addDelivery(RoutePath routePath, RouteEndpoint endpoint, long voltage, long amperage) {
+        Delivery key = new Delivery(routePath, endpoint, voltage - routePath.totalLoss);
+        Delivery delivery = deliveries.get(key);
+        if(delivery == null) {
+            delivery = key;
+            deliveries.put(key, delivery);
+        }
+        delivery.amperage += amperage;
+        for(long cablePos : routePath.path) {
+            cableAmperages.adjustOrPutValue(cablePos, amperage, amperage);
+            if(voltage > cableVoltages.get(cablePos)) {
+                cableVoltages.put(cablePos, voltage);
+            }
+        }
+    }
+
+    private static class Delivery {
+
+        private final RoutePath routePath;
+        private final RouteEndpoint endpoint;
+        private final long voltage;
+        private long amperage;
+
+        private Delivery(RoutePath routePath, RouteEndpoint endpoint, long voltage) {
+            this.routePath = routePath;
+            this.endpoint = endpoint;
+            this.voltage = voltage;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) return true;
+            if(!(o instanceof Delivery)) return false;
+            Delivery delivery = (Delivery) o;
+            return routePath == delivery.routePath &&
+                endpoint == delivery.endpoint &&
+                voltage == delivery.voltage;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(routePath), System.identityHashCode(endpoint), voltage);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package gregtech.common.pipelike.cable.net;
+
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import gregtech.common.pipelike.cable.WireProperties;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Routing table of single energy net, shared by all cables energy is emitted into
+ * For every source cable it holds lowest-loss routes to all active nodes of the net, sorted by loss
+ * Routes are computed lazily for each source and updated incrementally on topology changes where possible
+ * Route lists are never modified in place, so they can be safely iterated while energy dispatching
+ * causes changes in the net
+ */
+public class EnergyRoutingTable {
+
+    private static final Comparator<RoutePath> ROUTE_COMPARATOR = Comparator.comparingInt(route -> route.totalLoss);
+
+    private final EnergyNet energyNet;
+    private final TLongObjectMap<List<RoutePath>> routesBySource = new TLongObjectHashMap<>();
+
+    public EnergyRoutingTable(EnergyNet energyNet) {
+        this.energyNet = energyNet;
+    }
+
+    public List<RoutePath> getRoutesFrom(BlockPos sourcePos) {
+        long packedSourcePos = sourcePos.toLong();
+        List<RoutePath> routes = routesBySource.get(packedSourcePos);
+        if(routes == null) {
+            routes = computeRoutesFrom(sourcePos);
+            routesBySource.put(packedSourcePos, routes);
+        }
+        return routes;
+    }
+
+    public void invalidate() {
+        routesBySource.forEachValue(routes -> {
+            releaseRoutes(routes);
+            return true;
+        });
+        this.routesBySource.clear();
+    }
+
+    /**
+     * Invalidates endpoints of routes dropped from the table, so they are removed from endpoint index
+     */
+    private static void releaseRoutes(List<RoutePath> routes) {
+        for(RoutePath routePath : routes) {
+            routePath.invalidateEndpoints();
+        }
+    }
+
+    public void onNodeAdded(BlockPos nodePos, boolean isActive) {
+        if(energyNet.getConnectedNodesCount(nodePos) > 1) {
+            //node connecting several nodes can make paths between them shorter
+            invalidate();
+        } else if(isActive) {
+            //node attached to at most one other node cannot be part of any path between other nodes,
+            //so the only new routes are the ones leading to it
+            onNodeActivated(nodePos);
+        }
+    }
+
+    public void onNodeRemoved(BlockPos nodePos) {
+        //removal can't make any route shorter, so only sources routing through removed node need recomputing
+        long packedNodePos = nodePos.toLong();
+        routesBySource.retainEntries((sourcePos, routes) -> {
+            boolean isOutdated = sourcePos == packedNodePos;
+            for(int i = 0; i < routes.size() && !isOutdated; i++) {
+                isOutdated = routes.get(i).containsNode(packedNodePos);
+            }
+            if(isOutdated) {
+                releaseRoutes(routes);
+            }
+            return !isOutdated;
+        });
+    }
+
+    public void onNodeActivated(BlockPos nodePos) {
+        if(routesBySource.isEmpty()) {
+            return;
+        }
+        //paths are symmetric, so single search from activated node gives routes to it from every source
+        long packedNodePos = nodePos.toLong();
+        TLongLongMap previousNodes = energyNet.computeLowestLossTree(nodePos);
+        routesBySource.transformValues(routes -> {
+            if(routes.isEmpty()) {
+                return routes;
+            }
+            long packedSourcePos = routes.get(0).path[0];
+            if(packedSourcePos == packedNodePos || !previousNodes.containsKey(packedSourcePos)) {
+                return routes;
+            }
+            ArrayList<RoutePath> newRoutes = new ArrayList<>(routes.size() + 1);
+            for(RoutePath routePath : routes) {
+                if(!routePath.destination.equals(nodePos))
+                    newRoutes.add(routePath);
+                else routePath.invalidateEndpoints();
+            }
+            newRoutes.add(createRoute(previousNodes, packedSourcePos, nodePos, false));
+            newRoutes.sort(ROUTE_COMPARATOR);
+            return newRoutes;
+        });
+    }
+
+    public void onNodeDeactivated(BlockPos nodePos) {
+        long packedNodePos = nodePos.toLong();
+        routesBySource.transformValues(routes -> {
+            //route from node to itself is always kept, since machines near source cable receive energy too
+            if(routes.isEmpty() || routes.get(0).path[0] == packedNodePos) {
+                return routes;
+            }
+            ArrayList<RoutePath> newRoutes = new ArrayList<>(routes.size());
+            for(RoutePath routePath : routes) {
+                if(!routePath.destination.equals(nodePos))
+                    newRoutes.add(routePath);
+                else routePath.invalidateEndpoints();
+            }
+            return newRoutes;
+        });
+    }
+
+    private List<RoutePath> computeRoutesFrom(BlockPos sourcePos) {
+        long packedSourcePos = sourcePos.toLong();
+        TLongLongMap previousNodes = energyNet.computeLowestLossTree(sourcePos);
+        if(previousNodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ArrayList<RoutePath> routes = new ArrayList<>();
+        previousNodes.forEachKey(packedNodePos -> {
+            if(packedNodePos == packedSourcePos || energyNet.isNodeActive(packedNodePos)) {
+                routes.add(createRoute(previousNodes, packedNodePos, BlockPos.fromLong(packedNodePos), true));
+            }
+            return true;
+        });
+        routes.sort(ROUTE_COMPARATOR);
+        return routes;
+    }
+
+    /**
+     * Creates route by walking search tree from given node to it's root
+     * @param reverse true if root of the tree is source of the route, false if it is destination
+     */
+    private RoutePath createRoute(TLongLongMap previousNodes, long startPos, BlockPos destination, boolean reverse) {
+        int pathLength = 1;
+        for(long currentPos = startPos; previousNodes.get(currentPos) != currentPos; currentPos = previousNodes.get(currentPos)) {
+            pathLength++;
+        }
+        long[] path = new long[pathLength];
+        int maxAmperage = Integer.MAX_VALUE;
+        int minVoltage = Integer.MAX_VALUE;
+        int totalLoss = 0;
+        long currentPos = startPos;
+        for(int i = 0; i < pathLength; i++) {
+            path[reverse ? pathLength - i - 1 : i] = currentPos;
+            WireProperties wireProperties = energyNet.getNodeData(currentPos);
+            maxAmperage = Math.min(maxAmperage, wireProperties.amperage);
+            minVoltage = Math.min(minVoltage, wireProperties.voltage);
+            totalLoss += wireProperties.lossPerBlock;
+            currentPos = previousNodes.get(currentPos);
+        }
+        return new RoutePath(energyNet.getEndpointIndex(), destination, path, maxAmperage, minVoltage, totalLoss);
+    }
+
+}
@@ -0,0 +1,34 @@
+package gregtech.common.pipelike.cable.net;
+
+import gregtech.api.capability.IEnergyContainer;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * Energy container resolved near destination node of the route
+ * Stays valid until it's tile entity is invalidated or chunk containing it is unloaded
+ * Routes drop their endpoints on chunk unload through {@link RouteEndpointIndex}, validity check
+ * only covers tile entities invalidated without neighbour update
+ */
+public class RouteEndpoint {
+
+    public final TileEntity tileEntity;
+    public final Chunk chunk;
+    public final IEnergyContainer energyContainer;
+    /**
+     * Side of the energy container energy is inserted from
+     */
+    public final EnumFacing side;
+
+    public RouteEndpoint(TileEntity tileEntity, Chunk chunk, IEnergyContainer energyContainer, EnumFacing side) {
+        this.tileEntity = tileEntity;
+        this.chunk = chunk;
+        this.energyContainer = energyContainer;
+        this.side = side;
+    }
+
+    public boolean isValid() {
+        return !tileEntity.isInvalid() && chunk.isLoaded();
+    }
+}
@@ -0,0 +1,75 @@
+package gregtech.common.pipelike.cable.net;
+
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Index of routes with resolved endpoints by their destination and by chunks containing endpoints,
+ * so endpoints can be invalidated on neighbour changes and chunk unloads without walking all routes
+ * Routes are removed from the index once their endpoints are invalidated, so routing tables
+ * never keep unloaded chunks and tile entities in them reachable
+ */
+public class RouteEndpointIndex {
+
+    private final TLongObjectMap<Set<RoutePath>> routesByDestination = new TLongObjectHashMap<>();
+    private final TLongObjectMap<Set<RoutePath>> routesByEndpointChunk = new TLongObjectHashMap<>();
+
+    void addRoute(RoutePath routePath, RouteEndpoint[] endpoints) {
+        addToIndex(routesByDestination, routePath.destination.toLong(), routePath);
+        for(RouteEndpoint endpoint : endpoints) {
+            addToIndex(routesByEndpointChunk, ChunkPos.asLong(endpoint.chunk.x, endpoint.chunk.z), routePath);
+        }
+    }
+
+    void removeRoute(RoutePath routePath, RouteEndpoint[] endpoints) {
+        removeFromIndex(routesByDestination, routePath.destination.toLong(), routePath);
+        for(RouteEndpoint endpoint : endpoints) {
+            removeFromIndex(routesByEndpointChunk, ChunkPos.asLong(endpoint.chunk.x, endpoint.chunk.z), routePath);
+        }
+    }
+
+    /**
+     * Invalidates endpoints of all routes leading to given node
+     */
+    public void invalidateEndpoints(BlockPos destination) {
+        invalidateRoutes(routesByDestination.get(destination.toLong()));
+    }
+
+    /**
+     * Invalidates endpoints of all routes with endpoints in given chunk
+     */
+    public void onChunkUnload(int chunkX, int chunkZ) {
+        invalidateRoutes(routesByEndpointChunk.get(ChunkPos.asLong(chunkX, chunkZ)));
+    }
+
+    private static void invalidateRoutes(Set<RoutePath> routes) {
+        if(routes == null) {
+            return;
+        }
+        //invalidated routes remove themselves from the index
+        for(RoutePath routePath : routes.toArray(new RoutePath[0])) {
+            routePath.invalidateEndpoints();
+        }
+    }
+
+    private static void addToIndex(TLongObjectMap<Set<RoutePath>> index, long key, RoutePath routePath) {
+        Set<RoutePath> routes = index.get(key);
+        if(routes == null) {
+            routes = new HashSet<>();
+            index.put(key, routes);
+        }
+        routes.add(routePath);
+    }
+
+    private static void removeFromIndex(TLongObjectMap<Set<RoutePath>> index, long key, RoutePath routePath) {
+        Set<RoutePath> routes = index.get(key);
+        if(routes != null && routes.remove(routePath) && routes.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
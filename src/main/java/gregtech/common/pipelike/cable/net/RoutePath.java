@@ -1,54 +1,155 @@
 package gregtech.common.pipelike.cable.net;
 
+import gnu.trove.set.TLongSet;
+import gregtech.api.capability.GregtechCapabilities;
+import gregtech.api.capability.IEnergyContainer;
+import gregtech.api.pipenet.block.BlockPipe;
 import gregtech.common.pipelike.cable.WireProperties;
 import gregtech.common.pipelike.cable.tile.TileEntityCable;
 import net.minecraft.init.Blocks;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 
 public class RoutePath {
 
-    public BlockPos destination;
-    public HashMap<BlockPos, WireProperties> path = new HashMap<>();
-    public int maxAmperage = Integer.MAX_VALUE;
-    public int minVoltage = Integer.MAX_VALUE;
-    public int totalLoss;
+    private static final RouteEndpoint[] EMPTY_ENDPOINTS = new RouteEndpoint[0];
 
-    public RoutePath cloneAndCompute(BlockPos destination) {
-        RoutePath newPath = new RoutePath();
-        newPath.path = new HashMap<>(path);
-        newPath.destination = destination;
-        for(WireProperties wireProperties : path.values()) {
-            newPath.maxAmperage = Math.min(newPath.maxAmperage, wireProperties.amperage);
-            newPath.minVoltage = Math.min(newPath.minVoltage, wireProperties.voltage);
-            newPath.totalLoss += wireProperties.lossPerBlock;
+    public final BlockPos destination;
+    /**
+     * Packed positions of all cables in this path,
+     * starting with source cable and ending with destination one
+     */
+    public final long[] path;
+    public final int maxAmperage;
+    public final int minVoltage;
+    public final int totalLoss;
+    private final RouteEndpointIndex endpointIndex;
+    private RouteEndpoint[] endpoints;
+
+    public RoutePath(RouteEndpointIndex endpointIndex, BlockPos destination, long[] path, int maxAmperage, int minVoltage, int totalLoss) {
+        this.endpointIndex = endpointIndex;
+        this.destination = destination;
+        this.path = path;
+        this.maxAmperage = maxAmperage;
+        this.minVoltage = minVoltage;
+        this.totalLoss = totalLoss;
+    }
+
+    /**
+     * Returns energy containers near destination of this route, resolving them only when
+     * they weren't resolved yet, were invalidated or became invalid
+     * Returns empty array without resolving anything if destination is not loaded
+     */
+    public RouteEndpoint[] getEndpoints(World world, BlockPipe<?, ?, ?> pipeBlock) {
+        RouteEndpoint[] endpoints = this.endpoints;
+        if(endpoints != null) {
+            boolean allEndpointsValid = true;
+            for(RouteEndpoint endpoint : endpoints) {
+                allEndpointsValid &= endpoint.isValid();
+            }
+            if(allEndpointsValid) {
+                return endpoints;
+            }
+            invalidateEndpoints();
+        }
+        //do not allow cables to load chunks
+        if(!world.isBlockLoaded(destination)) {
+            return EMPTY_ENDPOINTS;
+        }
+        endpoints = resolveEndpoints(world, pipeBlock);
+        //containers in chunks loaded later won't cause neighbour updates, so only cache complete results
+        if(areNeighboursLoaded(world)) {
+            this.endpoints = endpoints;
+            endpointIndex.addRoute(this, endpoints);
+        }
+        return endpoints;
+    }
+
+    private boolean areNeighboursLoaded(World world) {
+        for(EnumFacing facing : EnumFacing.VALUES) {
+            if(!world.isBlockLoaded(destination.offset(facing)))
+                return false;
+        }
+        return true;
+    }
+
+    public void invalidateEndpoints() {
+        RouteEndpoint[] endpoints = this.endpoints;
+        if(endpoints != null) {
+            this.endpoints = null;
+            endpointIndex.removeRoute(this, endpoints);
+        }
+    }
+
+    private RouteEndpoint[] resolveEndpoints(World world, BlockPipe<?, ?, ?> pipeBlock) {
+        ArrayList<RouteEndpoint> endpoints = new ArrayList<>();
+        for(EnumFacing facing : EnumFacing.VALUES) {
+            BlockPos blockPos = destination.offset(facing);
+            if(!world.isBlockLoaded(blockPos)) continue;
+            TileEntity tileEntity = world.getTileEntity(blockPos);
+            if(tileEntity == null || pipeBlock.getPipeTileEntity(tileEntity) != null) continue;
+            IEnergyContainer energyContainer = tileEntity.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, null);
+            if(energyContainer == null) continue;
+            Chunk chunk = world.getChunkFromBlockCoords(blockPos);
+            endpoints.add(new RouteEndpoint(tileEntity, chunk, energyContainer, facing.getOpposite()));
+        }
+        return endpoints.toArray(new RouteEndpoint[0]);
+    }
+
+    public boolean containsNode(long nodePos) {
+        for(long pathPos : path) {
+            if(pathPos == nodePos)
+                return true;
         }
-        return newPath;
+        return false;
+    }
+
+    public boolean containsAnyNode(TLongSet nodePositions) {
+        if(nodePositions.isEmpty()) {
+            return false;
+        }
+        for(long pathPos : path) {
+            if(nodePositions.contains(pathPos))
+                return true;
+        }
+        return false;
     }
 
     public boolean burnCablesInPath(World world, long voltage, long amperage) {
-        for(BlockPos blockPos : path.keySet()) {
-            WireProperties wireProperties = path.get(blockPos);
+        for(long packedPos : path) {
+            burnCable(world, BlockPos.fromLong(packedPos), voltage, amperage);
+        }
+        return true;
+    }
+
+    /**
+     * Replaces cable at given position with fire if given voltage or amperage exceed it's limits
+     * @return true if cable was burned
+     */
+    public static boolean burnCable(World world, BlockPos blockPos, long voltage, long amperage) {
+        TileEntity tileEntity = world.getTileEntity(blockPos);
+        if(tileEntity instanceof TileEntityCable) {
+            WireProperties wireProperties = ((TileEntityCable) tileEntity).getNodeData();
             if(voltage > wireProperties.voltage || amperage > wireProperties.amperage) {
-                TileEntity tileEntity = world.getTileEntity(blockPos);
-                if(tileEntity instanceof TileEntityCable) {
-                    world.setBlockToAir(blockPos);
-                    world.setBlockState(blockPos, Blocks.FIRE.getDefaultState());
-
-                    if(!world.isRemote) {
-                        ((WorldServer) world).spawnParticle(EnumParticleTypes.SMOKE_LARGE,
-                            blockPos.getX() + 0.5, blockPos.getY() + 0.5, blockPos.getZ() + 0.5,
-                            5 + world.rand.nextInt(3), 0.0, 0.0, 0.0, 0.1);
-                    }
+                world.setBlockToAir(blockPos);
+                world.setBlockState(blockPos, Blocks.FIRE.getDefaultState());
+
+                if(!world.isRemote) {
+                    ((WorldServer) world).spawnParticle(EnumParticleTypes.SMOKE_LARGE,
+                        blockPos.getX() + 0.5, blockPos.getY() + 0.5, blockPos.getZ() + 0.5,
+                        5 + world.rand.nextInt(3), 0.0, 0.0, 0.0, 0.1);
                 }
+                return true;
             }
         }
-        return true;
+        return false;
     }
 
 }
@@ -4,10 +4,17 @@ import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.common.pipelike.cable.WireProperties;
 import net.minecraft.world.World;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 public class WorldENet extends WorldPipeNet<WireProperties, EnergyNet> {
 
     private static final String DATA_ID = "gregtech.e_net";
 
+    private final RouteEndpointIndex endpointIndex = new RouteEndpointIndex();
+    //tick solvers which accepted energy during current tick
+    private final Set<EnergyNetTickSolver> scheduledTickSolvers = new LinkedHashSet<>();
+
     public static WorldENet getWorldENet(World world) {
         WorldENet eNetWorldData = (WorldENet) world.loadData(WorldENet.class, DATA_ID);
         if(eNetWorldData == null) {
@@ -18,10 +25,42 @@ public class WorldENet extends WorldPipeNet<WireProperties, EnergyNet> {
         return eNetWorldData;
     }
 
+    /**
+     * Drops route endpoints located in unloaded chunk, without creating energy net data for the world
+     */
+    public static void onChunkUnload(World world, int chunkX, int chunkZ) {
+        WorldENet eNetWorldData = (WorldENet) world.loadData(WorldENet.class, DATA_ID);
+        if(eNetWorldData != null) {
+            eNetWorldData.endpointIndex.onChunkUnload(chunkX, chunkZ);
+        }
+    }
+
+    /**
+     * Delivers energy accepted by tick solvers of energy nets during this tick
+     */
+    public static void onWorldTick(World world) {
+        WorldENet eNetWorldData = (WorldENet) world.loadData(WorldENet.class, DATA_ID);
+        if(eNetWorldData != null && !eNetWorldData.scheduledTickSolvers.isEmpty()) {
+            EnergyNetTickSolver[] tickSolvers = eNetWorldData.scheduledTickSolvers.toArray(new EnergyNetTickSolver[0]);
+            eNetWorldData.scheduledTickSolvers.clear();
+            for(EnergyNetTickSolver tickSolver : tickSolvers) {
+                tickSolver.solveTick(world);
+            }
+        }
+    }
+
     public WorldENet(String name) {
         super(name);
     }
 
+    public RouteEndpointIndex getEndpointIndex() {
+        return endpointIndex;
+    }
+
+    void scheduleTickSolve(EnergyNetTickSolver tickSolver) {
+        scheduledTickSolvers.add(tickSolver);
+    }
+
     @Override
     protected EnergyNet createNetInstance() {
         return new EnergyNet(this);
@@ -1,29 +1,23 @@
 package gregtech.common.pipelike.cable.tile;
 
-import gregtech.api.capability.GregtechCapabilities;
 import gregtech.api.pipenet.tile.IPipeTile;
+import gregtech.common.ConfigHolder;
 import gregtech.common.pipelike.cable.Insulation;
 import gregtech.common.pipelike.cable.WireProperties;
+import gregtech.common.pipelike.cable.net.RouteEndpoint;
 import gregtech.common.pipelike.cable.net.RoutePath;
 import gregtech.api.capability.IEnergyContainer;
 import gregtech.common.pipelike.cable.net.EnergyNet;
 import gregtech.common.pipelike.cable.net.WorldENet;
-import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.BlockPos.PooledMutableBlockPos;
-import net.minecraft.world.World;
 
 import java.lang.ref.WeakReference;
-import java.util.Collections;
 import java.util.List;
 
 public class CableEnergyContainer implements IEnergyContainer {
 
     private final IPipeTile<Insulation, WireProperties> tileEntityCable;
     private WeakReference<EnergyNet> currentEnergyNet = new WeakReference<>(null);
-    private long lastCachedUpdate;
-    private List<RoutePath> pathsCache;
 
     public CableEnergyContainer(IPipeTile<Insulation, WireProperties> tileEntityCable) {
         this.tileEntityCable = tileEntityCable;
@@ -38,9 +32,17 @@ public class CableEnergyContainer implements IEnergyContainer {
             return 0L;
         }
         long lastAmperage = energyNet.getLastAmperage();
-        List<RoutePath> paths = getPaths();
+        List<RoutePath> paths = energyNet.getRoutePaths(tileEntityCable.getPipePos());
+        if(ConfigHolder.useEnergyNetTickSolver) {
+            //solver delivers energy at the end of the tick, burning cables by total load of the tick
+            long amperesAccepted = energyNet.getTickSolver().offerEnergy(tileEntityCable.getPipeWorld(),
+                tileEntityCable.getPipeBlock(), paths, voltage, amperage);
+            energyNet.incrementCurrentAmperage(amperage, voltage);
+            return amperesAccepted;
+        }
         long amperesUsed = 0;
-        for(RoutePath routePath : paths) {
+        for(int i = 0; i < paths.size(); i++) {
+            RoutePath routePath = paths.get(i);
             if(routePath.totalLoss >= voltage)
                 continue; //do not emit if loss is too high
             if(voltage > routePath.minVoltage ||
@@ -49,7 +51,7 @@ public class CableEnergyContainer implements IEnergyContainer {
                 burnAllPaths(paths, voltage, amperage, lastAmperage);
                 break; //break after burning all paths
             }
-            long amperageAccepted = dispatchEnergyToNode(routePath.destination,
+            long amperageAccepted = dispatchEnergyToNode(routePath,
                 voltage - routePath.totalLoss, amperage - amperesUsed);
             if(amperageAccepted > 0) {
                 amperesUsed += amperageAccepted;
@@ -70,24 +72,15 @@ public class CableEnergyContainer implements IEnergyContainer {
         }
     }
 
-    private long dispatchEnergyToNode(BlockPos nodePos, long voltage, long amperage) {
+    private long dispatchEnergyToNode(RoutePath routePath, long voltage, long amperage) {
         long amperesUsed = 0L;
-        //use pooled mutable to avoid creating new objects every tick
-        World world = tileEntityCable.getPipeWorld();
-        PooledMutableBlockPos blockPos = PooledMutableBlockPos.retain();
-        for(EnumFacing facing : EnumFacing.VALUES) {
-            blockPos.setPos(nodePos).move(facing);
-            //do not allow cables to load chunks
-            if(!world.isBlockLoaded(nodePos)) continue;
-            TileEntity tileEntity = world.getTileEntity(blockPos);
-            if(tileEntity == null || tileEntityCable.getPipeBlock().getPipeTileEntity(tileEntity) != null) continue;
-            IEnergyContainer energyContainer = tileEntity.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, null);
-            if(energyContainer == null) continue;
-            amperesUsed += energyContainer.acceptEnergyFromNetwork(facing.getOpposite(), voltage, amperage - amperesUsed);
+        //endpoints are cached by route, so no tile entity or capability lookups happen here normally
+        RouteEndpoint[] endpoints = routePath.getEndpoints(tileEntityCable.getPipeWorld(), tileEntityCable.getPipeBlock());
+        for(RouteEndpoint endpoint : endpoints) {
+            amperesUsed += endpoint.energyContainer.acceptEnergyFromNetwork(endpoint.side, voltage, amperage - amperesUsed);
             if(amperesUsed == amperage)
                 break;
         }
-        blockPos.release();
         return amperesUsed;
     }
 
@@ -129,22 +122,6 @@ public class CableEnergyContainer implements IEnergyContainer {
         return 0;
     }
 
-    private void recomputePaths(EnergyNet energyNet) {
-        this.lastCachedUpdate = energyNet.getLastUpdate();
-        this.pathsCache = energyNet.computePatches(tileEntityCable.getPipePos());
-    }
-
-    private List<RoutePath> getPaths() {
-        EnergyNet energyNet = getEnergyNet();
-        if(energyNet == null) {
-            return Collections.emptyList();
-        }
-        if(pathsCache == null || energyNet.getLastUpdate() > lastCachedUpdate) {
-            recomputePaths(energyNet);
-        }
-        return pathsCache;
-    }
-
     private EnergyNet getEnergyNet() {
         EnergyNet currentEnergyNet = this.currentEnergyNet.get();
         if(currentEnergyNet != null && currentEnergyNet.isValid() &&
@@ -1,9 +1,10 @@
 package gregtech.common.pipelike.fluidpipe.net;
 
 import codechicken.multipart.TileMultipart;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TLongLongMap;
 import gregtech.api.GTValues;
 import gregtech.api.pipenet.MonolithicPipeNet;
-import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.common.pipelike.fluidpipe.LeakableFluidPipeTile;
@@ -16,9 +17,6 @@ import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTank;
 import net.minecraftforge.fml.common.Loader;
 
-import java.util.ArrayList;
-import java.util.Map;
-
 public class FluidPipeNet extends MonolithicPipeNet<FluidPipeProperties> {
 
     private final FluidNetTank fluidNetTank = new FluidNetTank(this);
@@ -40,11 +38,10 @@ public class FluidPipeNet extends MonolithicPipeNet<FluidPipeProperties> {
     public void markNodesAsLeaking(boolean markAsBurningInstead) {
         World world = worldData.getWorld();
         int nodesAmount = 3 + world.rand.nextInt(5);
-        ArrayList<BlockPos> allNodes = new ArrayList<>(this.allNodes.keySet());
+        TLongArrayList allNodes = new TLongArrayList(this.allNodes.keys());
         for(int i = 0; i < nodesAmount; i++) {
-            BlockPos nodePos = allNodes.get(world.rand.nextInt(allNodes.size()));
-            allNodes.remove(nodePos);
-            LeakableFluidPipeTile tile = getPipeTile(world, nodePos);
+            long nodePos = allNodes.removeAt(world.rand.nextInt(allNodes.size()));
+            LeakableFluidPipeTile tile = getPipeTile(world, BlockPos.fromLong(nodePos));
             if(tile != null) {
                 if(markAsBurningInstead) {
                     tile.markAsBurning();
@@ -87,20 +84,20 @@ public class FluidPipeNet extends MonolithicPipeNet<FluidPipeProperties> {
     }
 
     @Override
-    protected void transferNodeData(Map<BlockPos, Node<FluidPipeProperties>> transferredNodes, PipeNet<FluidPipeProperties> parentNet1) {
+    protected void transferNodeData(TLongLongMap transferredNodes, PipeNet<FluidPipeProperties> parentNet1) {
         super.transferNodeData(transferredNodes, parentNet1);
         FluidPipeNet parentNet = (FluidPipeNet) parentNet1;
         FluidStack parentFluid = parentNet.getFluidNetTank().getFluid();
         if(parentFluid != null && parentFluid.amount > 0) {
-            if(parentNet.getAllNodes().isEmpty()) {
+            if(parentNet.getNodeCount() == 0) {
                 //if this is merge of pipe nets, just add all fluid to our internal tank
                 //use fillInternal to ignore throughput restrictions
                 getFluidNetTank().fillInternal(parentFluid, true);
             } else {
                 //otherwise, it is donating of some nodes to our net in result of split
                 //so, we should estabilish equal amount of fluid in networks
-                int firstNetCapacity = getAllNodes().size() * getNodeData().throughput;
-                int secondNetCapacity = parentNet.getAllNodes().size() * parentNet.getNodeData().throughput;
+                int firstNetCapacity = getNodeCount() * getNodeData().throughput;
+                int secondNetCapacity = parentNet.getNodeCount() * parentNet.getNodeData().throughput;
                 int totalFluidAmount = getFluidNetTank().getFluidAmount() + parentFluid.amount;
                 int fluidAmount1 = totalFluidAmount * firstNetCapacity / (firstNetCapacity + secondNetCapacity);
                 int fluidAmount2 = totalFluidAmount - fluidAmount1;
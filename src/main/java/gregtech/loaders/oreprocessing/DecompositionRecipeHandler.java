@@ -2,6 +2,7 @@ package gregtech.loaders.oreprocessing;
 
 import gregtech.api.recipes.RecipeBuilder;
 import gregtech.api.recipes.RecipeMaps;
+import gregtech.api.recipes.RecipeRegistrationStage;
 import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.unification.material.Materials;
 import gregtech.api.unification.material.type.DustMaterial;
@@ -22,12 +23,14 @@ import static gregtech.api.unification.material.type.Material.MatFlags.DISABLE_D
 public class DecompositionRecipeHandler {
 
     public static void runRecipeGeneration() {
+        List<Runnable> decompositionTasks = new ArrayList<>();
         for(Material material : Material.MATERIAL_REGISTRY) {
             if(material instanceof FluidMaterial) {
                 OrePrefix prefix = material instanceof DustMaterial ? OrePrefix.dust : null;
-                processDecomposition(prefix, (FluidMaterial) material);
+                decompositionTasks.add(() -> processDecomposition(prefix, (FluidMaterial) material));
             }
         }
+        RecipeRegistrationStage.runTasks(decompositionTasks);
     }
 
     public static void processDecomposition(OrePrefix decomposePrefix, FluidMaterial material) {